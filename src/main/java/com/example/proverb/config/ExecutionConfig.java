@@ -0,0 +1,50 @@
+package com.example.proverb.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for outbound, I/O-bound work (upstream quote fetches, message fan-out).
+ * With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, each task gets its own
+ * virtual thread, and Boot moves Tomcat request handling and {@code @Scheduled} jobs onto
+ * virtual threads as well. Otherwise a bounded platform pool is used. Boot checks the JVM the app
+ * runs on, not the release it was compiled for, so the Java 17 build gets this mode on a 21 JVM.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    @Bean(name = "outboundExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor virtualOutboundExecutor(
+            @Value("${proverbly.outbound.max-concurrency:256}") int maxConcurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("outbound-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrency);
+        logger.info("Outbound work runs on virtual threads (max {} concurrent)", maxConcurrency);
+        return executor;
+    }
+
+    @Bean(name = "outboundExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public TaskExecutor platformOutboundExecutor(
+            @Value("${proverbly.outbound.max-concurrency:256}") int maxConcurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("outbound-");
+        executor.setCorePoolSize(Math.min(8, maxConcurrency));
+        executor.setMaxPoolSize(Math.min(32, maxConcurrency));
+        executor.setQueueCapacity(maxConcurrency);
+        executor.setDaemon(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.proverb.config;
+
+import com.example.proverb.service.CatalogSeeder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs catalog seeding off the startup path. Tomcat starts serving (and liveness reports UP) as
+ * soon as the context is refreshed; readiness stays {@code REFUSING_TRAFFIC} until seeding has
+ * finished, holding back the {@code ACCEPTING_TRAFFIC} Boot publishes once the app is ready.
+ * Exposed as the {@code startup} health indicator in the readiness group.
+ */
+@Component("startup")
+public class StartupReadiness implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupReadiness.class);
+
+    private enum Phase { PENDING, SEEDING, DONE, FAILED }
+
+    private final CatalogSeeder catalogSeeder;
+    private final Executor executor;
+    private final ApplicationEventPublisher publisher;
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile Duration seedTime;
+    private volatile String failure;
+
+    public StartupReadiness(
+            CatalogSeeder catalogSeeder,
+            @Qualifier("outboundExecutor") Executor executor,
+            ApplicationEventPublisher publisher) {
+        this.catalogSeeder = catalogSeeder;
+        this.executor = executor;
+        this.publisher = publisher;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        phase = Phase.SEEDING;
+        executor.execute(this::runStartupTasks);
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && !isFinished()) {
+            // Boot declares the app ready before our background tasks are through.
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+            if (isFinished()) {
+                // The tasks finished while we were refusing; don't leave that veto standing.
+                AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = switch (phase) {
+            case DONE -> Health.up();
+            // A failed seed is logged and reported, but an empty catalog still serves fallbacks.
+            case FAILED -> Health.up().withDetail("error", failure);
+            default -> Health.outOfService();
+        };
+        health.withDetail("phase", phase);
+        if (seedTime != null) {
+            health.withDetail("seedMillis", seedTime.toMillis());
+        }
+        return health.build();
+    }
+
+    private boolean isFinished() {
+        return phase == Phase.DONE || phase == Phase.FAILED;
+    }
+
+    private void runStartupTasks() {
+        long start = System.nanoTime();
+        try {
+            catalogSeeder.seed();
+            phase = Phase.DONE;
+        } catch (Exception e) {
+            failure = e.getMessage();
+            phase = Phase.FAILED;
+            logger.error("Catalog seeding failed: {}", e.getMessage());
+        } finally {
+            seedTime = Duration.ofNanos(System.nanoTime() - start);
+            logger.info("Startup tasks finished in {} ms — accepting traffic", seedTime.toMillis());
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+}
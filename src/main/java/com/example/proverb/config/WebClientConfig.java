@@ -1,5 +1,6 @@
 package com.example.proverb.config;
 
+import com.example.proverb.provider.ZenQuotesRateLimiter;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.resolver.DefaultAddressResolverGroup;
@@ -51,61 +52,48 @@ public class WebClientConfig implements WebMvcConfigurer {
                 .maxAge(3600);
         logger.info("✅ CORS configuration enabled for all origins");
     }
+    /*
+     * Clients are built eagerly and never probed here: which provider serves a request is
+     * decided per call by QuoteProviderRouter from live latency and error rates.
+     * Each bean works on a clone so settings never leak through the shared builder.
+     */
     @Bean(name = "zenQuotesClient")
-    public WebClient zenQuotesClient(WebClient.Builder builder) {
-        try {
-            WebClient client = builder.baseUrl(ZENQUOTES_API_URL).build();
+    public WebClient zenQuotesClient(WebClient.Builder builder, ZenQuotesRateLimiter zenQuotesRateLimiter) {
+        HttpClient httpClient = HttpClient.create()
+                .resolver(DefaultAddressResolverGroup.INSTANCE)
+                .responseTimeout(Duration.ofSeconds(5));
 
-            if (testApiConnection(client, "ZenQuotes", 3)) {
-                logger.info(" Using ZenQuotes API as primary ({})", ZENQUOTES_API_URL);
-                return client;
-            } else {
-                logger.warn(" ZenQuotes API unavailable — switching to Quotable fallback.");
-            }
-        } catch (Exception e) {
-            logger.error(" Error initializing ZenQuotes WebClient: {}", e.getMessage());
-        }
-
-        return quotableClient(builder);
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(ZENQUOTES_API_URL)
+                .filter(zenQuotesRateLimiter)
+                .build();
     }
     @Bean(name = "quotableClient")
     public WebClient quotableClient(WebClient.Builder builder) {
-        try {
-            HttpClient httpClient = HttpClient.create()
-                    .resolver(DefaultAddressResolverGroup.INSTANCE)
-                    .secure(ssl -> {
-                        try {
-                            ssl.sslContext(
-                                    SslContextBuilder.forClient()
-                                            .trustManager(InsecureTrustManagerFactory.INSTANCE)
-                                            .build()
-                            );
-                        } catch (javax.net.ssl.SSLException e) {
-                            throw new RuntimeException("Failed to configure SSL trust bypass", e);
-                        }
-                    })
-                    .responseTimeout(Duration.ofSeconds(5));
-
-            WebClient client = builder
-                    .clientConnector(new ReactorClientHttpConnector(httpClient))
-                    .baseUrl(QUOTABLE_API_URL)
-                    .build();
-
-            if (testApiConnection(client, "Quotable", 2)) {
-                logger.info(" Using Quotable API as fallback ({})", QUOTABLE_API_URL);
-                return client;
-            } else {
-                logger.warn(" Quotable API also unreachable — using local quotes instead.");
-            }
-        } catch (Exception e) {
-            logger.error(" Error initializing Quotable WebClient: {}", e.getMessage());
-        }
+        HttpClient httpClient = HttpClient.create()
+                .resolver(DefaultAddressResolverGroup.INSTANCE)
+                .secure(ssl -> {
+                    try {
+                        ssl.sslContext(
+                                SslContextBuilder.forClient()
+                                        .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                                        .build()
+                        );
+                    } catch (javax.net.ssl.SSLException e) {
+                        throw new RuntimeException("Failed to configure SSL trust bypass", e);
+                    }
+                })
+                .responseTimeout(Duration.ofSeconds(5));
 
-        return offlineWebClient(builder);
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(QUOTABLE_API_URL)
+                .build();
     }
     @Bean(name = "offlineWebClient")
     public WebClient offlineWebClient(WebClient.Builder builder) {
-        return builder
+        return builder.clone()
                 .baseUrl("offline://quotes")
                 .exchangeFunction(request -> {
                     String randomQuote = LOCAL_QUOTES.get(RANDOM.nextInt(LOCAL_QUOTES.size()));
@@ -132,25 +120,4 @@ public class WebClientConfig implements WebMvcConfigurer {
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder();
     }
-    private boolean testApiConnection(WebClient client, String apiName, int maxRetries) {
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                client.get()
-                        .uri("/random")
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .timeout(Duration.ofSeconds(3))
-                        .block();
-                logger.info("{} API reachable (attempt {}/{})", apiName, attempt, maxRetries);
-                return true;
-            } catch (Exception e) {
-                logger.warn(" {} API connection failed (attempt {}/{}): {}", apiName, attempt, maxRetries, e.getMessage());
-                try {
-                    Thread.sleep(1000L * attempt);
-                } catch (InterruptedException ignored) {}
-            }
-        }
-        logger.error(" {} API not reachable after {} attempts.", apiName, maxRetries);
-        return false;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,262 @@
+package com.example.proverb.controller;
+
+import com.example.proverb.model.Language;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Routes a chat message to a webhook command in one pass. Every keyword (commands and language
+ * names) is compiled into a single Aho-Corasick automaton, expanded to a full ASCII transition
+ * table, so each character of the message costs one array lookup however many keywords there
+ * are. Case folding and whitespace collapsing happen per character as the text is read; the
+ * message is never copied, and routes without an argument are shared instances, so routing
+ * allocates nothing.
+ *
+ * <p>When several commands match, the earliest {@link Command} constant wins, whatever order the
+ * keywords appear in. When several languages match, the earliest {@link Language} constant wins.
+ */
+public final class CommandRouter {
+
+    private static final int ALPHABET = 128;
+    private static final int MAX_KEYWORDS = Long.SIZE;
+    private static final int NONE = -1;
+
+    // values() clones on every call; routing reads these instead.
+    private static final Command[] COMMANDS = Command.values();
+    private static final Language[] LANGUAGES = Language.values();
+
+    /** Webhook commands, highest priority first. */
+    public enum Command {
+        HELP, UNSUBSCRIBE, SUBSCRIBE, SIMILAR, SEARCH, PROVERB, QUOTE, INSPIRE
+    }
+
+    /** A routing decision; {@code argumentStart} is {@code -1} unless the command takes an argument. */
+    public record Route(Command command, Language language, int argumentStart) {
+
+        /** The trimmed text after the keyword that carried the argument, or {@code null}. */
+        public String argument(String message) {
+            return argumentStart < 0 ? null : message.substring(argumentStart).trim();
+        }
+    }
+
+    private final int[] transitions;
+    private final long[] outputs;
+    private final int[] lengths;
+    private final boolean[] anchored;
+    private final boolean[] takesArgument;
+    private final int[] commands;
+    private final int[] languages;
+    private final Route[][] routes;
+
+    private CommandRouter(List<Keyword> keywords) {
+        int count = keywords.size();
+        this.lengths = new int[count];
+        this.anchored = new boolean[count];
+        this.takesArgument = new boolean[count];
+        this.commands = new int[count];
+        this.languages = new int[count];
+
+        List<int[]> trie = new ArrayList<>();
+        List<Long> trieOutputs = new ArrayList<>();
+        trie.add(newNode());
+        trieOutputs.add(0L);
+        for (int k = 0; k < count; k++) {
+            Keyword keyword = keywords.get(k);
+            lengths[k] = keyword.text().length();
+            anchored[k] = keyword.anchored();
+            takesArgument[k] = keyword.takesArgument();
+            commands[k] = keyword.command() != null ? keyword.command().ordinal() : NONE;
+            languages[k] = keyword.language() != null ? keyword.language().ordinal() : NONE;
+            int state = 0;
+            for (int i = 0; i < keyword.text().length(); i++) {
+                char c = keyword.text().charAt(i);
+                if (trie.get(state)[c] == NONE) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newNode());
+                    trieOutputs.add(0L);
+                }
+                state = trie.get(state)[c];
+            }
+            trieOutputs.set(state, trieOutputs.get(state) | 1L << k);
+        }
+
+        // Breadth-first, so a state's failure target is complete before the state itself.
+        int states = trie.size();
+        this.transitions = new int[states * ALPHABET];
+        this.outputs = new long[states];
+        int[] failure = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = trie.get(0)[c];
+            transitions[c] = child == NONE ? 0 : child;
+            if (child != NONE) {
+                queue.add(child);
+            }
+        }
+        outputs[0] = trieOutputs.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = trieOutputs.get(state) | outputs[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int child = trie.get(state)[c];
+                if (child == NONE) {
+                    transitions[state * ALPHABET + c] = transitions[failure[state] * ALPHABET + c];
+                } else {
+                    failure[child] = transitions[failure[state] * ALPHABET + c];
+                    transitions[state * ALPHABET + c] = child;
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.routes = new Route[COMMANDS.length][LANGUAGES.length + 1];
+        for (Command command : COMMANDS) {
+            routes[command.ordinal()][LANGUAGES.length] = new Route(command, null, -1);
+            for (Language language : LANGUAGES) {
+                routes[command.ordinal()][language.ordinal()] = new Route(command, language, -1);
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Routes {@code message}; anything no keyword claims is {@link Command#INSPIRE}. */
+    public Route route(CharSequence message) {
+        // A virtual space before the text lets anchored and word-start keywords share one rule:
+        // they begin with a space, which only the start of the text or whitespace can supply.
+        int state = transitions[' '];
+        int fed = 1;
+        boolean inSpace = true;
+        int command = Command.INSPIRE.ordinal();
+        int language = NONE;
+        int argumentCommand = NONE;
+        int argumentStart = NONE;
+        int lastNonSpace = NONE;
+
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (inSpace) {
+                    continue;
+                }
+                inSpace = true;
+                c = ' ';
+            } else {
+                inSpace = false;
+                lastNonSpace = i;
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            }
+            state = c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+            fed++;
+
+            for (long matched = outputs[state]; matched != 0; matched &= matched - 1) {
+                int k = Long.numberOfTrailingZeros(matched);
+                if (anchored[k] && fed != lengths[k]) {
+                    continue;
+                }
+                if (languages[k] != NONE) {
+                    if (language == NONE || languages[k] < language) {
+                        language = languages[k];
+                    }
+                } else if (takesArgument[k]) {
+                    if (argumentStart == NONE) {
+                        argumentCommand = commands[k];
+                        argumentStart = i + 1;
+                    }
+                } else if (commands[k] < command) {
+                    command = commands[k];
+                }
+            }
+        }
+
+        // An argument keyword only counts when something follows it.
+        if (argumentStart != NONE && lastNonSpace >= argumentStart && argumentCommand < command) {
+            return new Route(COMMANDS[argumentCommand], language == NONE ? null : LANGUAGES[language], argumentStart);
+        }
+        return routes[command][language == NONE ? LANGUAGES.length : language];
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[ALPHABET];
+        Arrays.fill(node, NONE);
+        return node;
+    }
+
+    private record Keyword(String text, Command command, Language language, boolean anchored, boolean takesArgument) {
+    }
+
+    /**
+     * Keyword registry. Keywords are ASCII and case-insensitive; a run of whitespace in a keyword
+     * matches any run of whitespace in the message.
+     */
+    public static final class Builder {
+
+        private final List<Keyword> keywords = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /** {@code command} when the message starts with {@code keyword}. */
+        public Builder startsWith(String keyword, Command command) {
+            return add(" " + fold(keyword), command, null, true, false);
+        }
+
+        /** {@code command} when {@code keyword} appears anywhere in the message. */
+        public Builder contains(String keyword, Command command) {
+            return add(fold(keyword), command, null, false, false);
+        }
+
+        /**
+         * {@code command} with the rest of the message as its argument, when the message starts
+         * with {@code keyword} followed by whitespace and some text.
+         */
+        public Builder startsWithArgument(String keyword, Command command) {
+            return add(" " + fold(keyword) + " ", command, null, true, true);
+        }
+
+        /**
+         * {@code command} with the rest of the message as its argument, when {@code phrase}
+         * starts a word anywhere in the message and is followed by whitespace and some text.
+         */
+        public Builder phraseWithArgument(String phrase, Command command) {
+            return add(" " + fold(phrase) + " ", command, null, false, true);
+        }
+
+        /** Tags the route with {@code language} when its code appears anywhere in the message. */
+        public Builder language(Language language) {
+            return add(language.code(), null, language, false, false);
+        }
+
+        public CommandRouter build() {
+            return new CommandRouter(List.copyOf(keywords));
+        }
+
+        private Builder add(String text, Command command, Language language, boolean anchored, boolean takesArgument) {
+            if (text.isBlank()) {
+                throw new IllegalArgumentException("Keyword cannot be empty");
+            }
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) >= ALPHABET) {
+                    throw new IllegalArgumentException("Keywords must be ASCII: " + text);
+                }
+            }
+            if (keywords.size() == MAX_KEYWORDS) {
+                throw new IllegalStateException("At most " + MAX_KEYWORDS + " keywords are supported");
+            }
+            keywords.add(new Keyword(text, command, language, anchored, takesArgument));
+            return this;
+        }
+
+        private static String fold(String keyword) {
+            return keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -2,15 +2,27 @@ package com.example.proverb.controller;
 
 import com.example.proverb.dto.ProverbResponse;
 import com.example.proverb.model.Proverb;
-import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.service.CatalogSnapshot;
+import com.example.proverb.service.ContentHash;
+import com.example.proverb.service.ProverbListingCache;
 import com.example.proverb.service.ProverbService;
+import com.example.proverb.service.QuoteDeduplicator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/proverbs")
@@ -19,16 +31,16 @@ import java.util.stream.Collectors;
 public class ProverbController {
 
     private final ProverbService proverbService;
-    private final ProverbRepository proverbRepository;
+    private final QuoteDeduplicator quoteDeduplicator;
+    private final ObjectMapper objectMapper;
+    private final ProverbListingCache proverbListingCache;
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int STREAM_FLUSH_EVERY = 100;
 
     private ProverbResponse mapToResponse(Proverb proverb) {
-        ProverbResponse dto = new ProverbResponse();
-        dto.setId(proverb.getId());
-        dto.setLanguage(proverb.getLanguage());
-        dto.setProverb(proverb.getProverb());
-        dto.setTranslation(proverb.getTranslation());
-        dto.setMeaning(proverb.getMeaning());
-        return dto;
+        return ProverbResponse.of(proverb);
     }
     @GetMapping("/random")
     public ProverbResponse getRandomProverb() {
@@ -42,12 +54,95 @@ public class ProverbController {
     public ProverbResponse getRandomAcrossLanguages() {
         return mapToResponse(proverbService.getRandomProverb());
     }
-    @GetMapping
-    public List<ProverbResponse> getAllProverbs() {
-        return proverbService.getAll()
-                .stream()
+    /*
+     * Reads whose answer depends only on the catalog are tagged with its version, which moves on
+     * every insert. A poll whose If-None-Match / If-Modified-Since still matches gets a 304
+     * before anything is looked up or serialized. Random picks differ on every call, so they
+     * are never tagged: a 304 would pin one pick until the next insert.
+     */
+    /** Ranked matches for {@code q}. */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProverbResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String language,
+            WebRequest request) {
+        return conditional(request, () -> proverbService.search(q, language, limit).stream()
+                .map(this::mapToResponse)
+                .toList());
+    }
+    /** Proverbs close in meaning to {@code id}, by default only from other languages. */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<ProverbResponse>> similar(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "true") boolean otherLanguages,
+            WebRequest request) {
+        return conditional(request, () -> proverbService.similar(id, limit, otherLanguages).stream()
                 .map(this::mapToResponse)
-                .collect(Collectors.toList());
+                .toList());
+    }
+    /**
+     * Keyset-paginated listing: pass the {@code X-Next-Cursor} value of one page as
+     * {@code after} to get the next; the header is absent on the last page. Pages are served
+     * from bytes serialized once per catalog version.
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getAllProverbs(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String language,
+            WebRequest request) {
+        CatalogSnapshot snapshot = proverbService.catalogSnapshot();
+        if (request.checkNotModified(snapshot.etag(), snapshot.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        ProverbListingCache.Listing listing = proverbListingCache.listing(snapshot, language, after, limit,
+                () -> proverbService.page(snapshot, language, after, limit));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache());
+        if (listing.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, listing.nextCursor().toString());
+        }
+        return response.body(listing.json());
+    }
+    private <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+        CatalogSnapshot snapshot = proverbService.catalogSnapshot();
+        if (request.checkNotModified(snapshot.etag(), snapshot.modifiedAt().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body.get());
+    }
+    /** Every row as newline-delimited JSON, written as it comes off the database cursor. */
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamProverbs(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) String language) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            int[] pending = {0};
+            try {
+                proverbService.streamAll(language, after, proverb -> {
+                    try {
+                        generator.writeObject(mapToResponse(proverb));
+                        generator.writeRaw('\n');
+                        if (++pending[0] == STREAM_FLUSH_EVERY) {
+                            generator.flush();
+                            pending[0] = 0;
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.close();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
     @PostMapping
     public ProverbResponse addProverb(@RequestBody Proverb proverb) {
@@ -62,6 +157,10 @@ public class ProverbController {
             if (quote.isBlank()) {
                 return ResponseEntity.badRequest().body("Quote text cannot be empty");
             }
+            String contentHash = ContentHash.ofQuote(quote);
+            if (!quoteDeduplicator.admit(contentHash)) {
+                return ResponseEntity.ok("Quote already stored — skipped duplicate from " + source);
+            }
             String meaningAttribution = "Attribution: Imported quote from " + source;
 
             Proverb proverb = Proverb.builder()
@@ -69,9 +168,14 @@ public class ProverbController {
                     .proverb(quote)
                     .translation("Original quote (not a proverb translation)")
                     .meaning(meaningAttribution)
+                    .contentHash(contentHash)
                     .build();
-            proverbRepository.save(proverb);
+            proverbService.saveImported(proverb);
+            quoteDeduplicator.recordStored(contentHash);
             return ResponseEntity.ok("✅ Quote saved successfully from " + source);
+        } catch (DataIntegrityViolationException e) {
+            quoteDeduplicator.recordStored(ContentHash.ofQuote(payload.getOrDefault("quote", "").toString()));
+            return ResponseEntity.ok("Quote already stored — skipped duplicate");
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body("Error saving quote: " + e.getMessage());
@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,43 +24,43 @@ public class QuoteController {
     }
 
     @GetMapping("/random-external")
-    public ExternalQuote getRandomExternalQuote() {
+    public Mono<ExternalQuote> getRandomExternalQuote() {
         logger.info("GET request: Fetching random quote from external API...");
-        ExternalQuote quote = externalQuoteService.fetchRandomExternalQuote();
-
-        if (quote == null || quote.getContent() == null) {
-            logger.warn("GET: Failed to fetch quote — returning fallback message");
-            ExternalQuote fallback = new ExternalQuote();
-            fallback.setContent("No quote available at the moment.");
-            fallback.setAuthor("System");
-            return fallback;
-        }
-
-        logger.info("GET: Successfully fetched quote.");
-        return quote;
+        return externalQuoteService.fetchRandomQuote()
+                .filter(quote -> quote.getContent() != null)
+                .doOnNext(quote -> logger.info("GET: Successfully fetched quote."))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("GET: Failed to fetch quote — returning fallback message");
+                    ExternalQuote fallback = new ExternalQuote();
+                    fallback.setContent("No quote available at the moment.");
+                    fallback.setAuthor("System");
+                    return fallback;
+                }));
     }
 
     @PostMapping(value = "/random-external", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Map<String, Object>> getRandomExternalQuotePost() {
+    public Mono<ResponseEntity<Map<String, Object>>> getRandomExternalQuotePost() {
         logger.info("POST request: Fetching random quote for telex.im agent...");
 
-        ExternalQuote quote = externalQuoteService.fetchRandomExternalQuote();
-
-        if (quote == null || quote.getContent() == null) {
-            logger.warn("POST: Failed to fetch quote — using structured fallback");
-            quote = new ExternalQuote();
-            quote.setContent("No quote available at the moment. Try again later.");
-            quote.setAuthor("System");
-        }
-
-        Map<String, Object> responseBody = new HashMap<>();
-        responseBody.put("title", " Daily Inspiration ");
-        responseBody.put("description", quote.getContent());
-        responseBody.put("author", quote.getAuthor());
-        responseBody.put("source", "Proverbly Agent");
+        return externalQuoteService.fetchRandomQuote()
+                .filter(quote -> quote.getContent() != null)
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("POST: Failed to fetch quote — using structured fallback");
+                    ExternalQuote fallback = new ExternalQuote();
+                    fallback.setContent("No quote available at the moment. Try again later.");
+                    fallback.setAuthor("System");
+                    return fallback;
+                }))
+                .map(quote -> {
+                    Map<String, Object> responseBody = new HashMap<>();
+                    responseBody.put("title", " Daily Inspiration ");
+                    responseBody.put("description", quote.getContent());
+                    responseBody.put("author", quote.getAuthor());
+                    responseBody.put("source", "Proverbly Agent");
 
-        logger.info("POST: Successfully fetched and structured quote.");
+                    logger.info("POST: Successfully fetched and structured quote.");
 
-        return ResponseEntity.ok(responseBody);
+                    return ResponseEntity.ok(responseBody);
+                });
     }
 }
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.example.proverb.controller;
 
 import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.dto.TelexMessage;
+import com.example.proverb.dto.TelexReply;
+import com.example.proverb.model.Language;
 import com.example.proverb.model.Proverb;
+import com.example.proverb.service.ChannelSubscriptions;
 import com.example.proverb.service.ExternalQuoteService;
+import com.example.proverb.service.ProverbReplies;
 import com.example.proverb.service.ProverbService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Map;
@@ -24,67 +31,95 @@ public class TelexWebhookController {
 
     private final ProverbService proverbService;
     private final ExternalQuoteService externalQuoteService;
-
-    private static final List<String> NIGERIAN_LANGUAGES = List.of("yoruba", "igbo", "hausa", "efik", "ibibio");
+    private final ProverbReplies proverbReplies;
+    private final ChannelSubscriptions channelSubscriptions;
+
+    private static final List<String> NIGERIAN_LANGUAGES = Language.nigerian().stream().map(Language::code).toList();
+
+    /**
+     * Compiled once; messages are routed in a single case-insensitive pass. "/search patience" and
+     * "a proverb about patience" both search, the topic being whatever follows the keyword.
+     */
+    private static final CommandRouter COMMANDS = commandRouter();
+
+    // Fixed replies are encoded once, like the per-proverb ones in ProverbReplies.
+    private static final TelexReply WELCOME = TelexReply.inChannel(
+            "👋 Welcome to *Proverbly Agent!* I'm ready to inspire you. Try `/inspire` or type a command like 'proverb'.").encode();
+    private static final TelexReply VALIDATED = TelexReply.inChannel(
+            "Proverbly Agent is validated and ready to receive POST messages.").encode();
+    private static final TelexReply HELP = TelexReply.inChannel("👋 Welcome to *Proverbly Agent!* \n\nCommands:\n" +
+            "• `/proverb` - Get a random Nigerian proverb\n" +
+            "• `/quote` - Get an inspirational quote\n" +
+            "• `/inspire` - Surprise you with either\n" +
+            "• `/search <words>` - Find a proverb on a topic\n" +
+            "• `/similar` - After a proverb, one with a similar meaning from another language\n" +
+            "• `/subscribe [language]` - Daily proverbs in this channel; `/unsubscribe` to stop\n" +
+            "• You can also say: *Yoruba proverb*, *proverb about patience*, etc.").encode();
+    private static final TelexReply NOTHING_SERVED_YET = TelexReply.inChannel(
+            "🔗 Ask me for a `/proverb` first, then say *more like this* for one from another language.").encode();
+    private static final TelexReply NOTHING_INSPIRING = TelexReply.inChannel(
+            "I couldn't find anything inspiring right now, but I'm trying!").encode();
+    private static final TelexReply UNSUBSCRIBED = TelexReply.inChannel(
+            "👋 This channel will no longer receive the daily proverbs. `/subscribe` to start again.").encode();
+    private static final TelexReply NOT_SUBSCRIBED = TelexReply.inChannel(
+            "This channel isn't subscribed. Say `/subscribe` (optionally with a language) to get daily proverbs.").encode();
+    private static final TelexReply SUBSCRIPTION_FAILED = TelexReply.inChannel(
+            "⚠️ I couldn't update this channel's subscription. Please try again later.").encode();
+    private static final TelexReply HANDLER_FAILED = TelexReply.inChannel(
+            "⚠️ Something went wrong fetching content, but remember: 'The only way to do great work is to love what you do.' – Steve Jobs").encode();
+    private static final TelexReply FALLBACK_QUOTE = TelexReply.inChannel(
+            "✨ Inspirational Quote:\n\nThe only way to do great work is to love what you do.\n\n— Steve Jobs").encode();
+    private static final TelexReply INSPIRATION_FALLBACK = TelexReply.inspiration(
+            "fallback", "🌅 Keep pushing forward! Every day is a new opportunity.", null).encode();
+    private static final Map<String, TelexReply> FALLBACK_PROVERBS = Map.of(
+            "yoruba", TelexReply.inChannel("🪶 Yoruba Proverb:\n\nÌwà l'ẹ̀ṣọ́\n\nMeaning:\nCharacter is religion").encode(),
+            "igbo", TelexReply.inChannel("🪶 Igbo Proverb:\n\nEgbe bere, ugo bere\n\nMeaning:\nLet the eagle perch, let the hawk perch").encode(),
+            "hausa", TelexReply.inChannel("🪶 Hausa Proverb:\n\nRashin ruwa, ragon zaki\n\nMeaning:\nLack of water is death to the lion").encode(),
+            "efik", TelexReply.inChannel("🪶 Efik Proverb:\n\nUdeme kiet ididaha nda\n\nMeaning:\nOne finger cannot lift a load").encode(),
+            "ibibio", TelexReply.inChannel("𪎨 Ibibio Proverb:\n\nEkpo akpa enyin, ikpaha utọn̄\n\nMeaning:\nThe spirit is blind but not deaf").encode(),
+            "general", TelexReply.inChannel("𪎨 Nigerian Proverb:\n\nHowever long the night, the day is sure to come\n\nMeaning:\nNo situation lasts forever").encode()
+    );
 
     @PostMapping("/inspire")
-    public ResponseEntity<Map<String, Object>> getRandomInspiration(@RequestBody(required = false) Map<String, Object> request) {
-        logger.info("Telex Random Inspiration request received: {}", request);
-
-        Map<String, Object> response = new HashMap<>();
-        try {
-            boolean sendQuote = Math.random() < 0.5;
-
-            if (sendQuote) {
-                ExternalQuote quote = externalQuoteService.fetchRandomExternalQuote();
-
-                logger.info("Quote fetch result: {}", quote);
-
-                if (quote != null && quote.getContent() != null) {
-                    String message = "✨ Inspirational Quote:\n\n" + quote.getContent();
-                    if (quote.getAuthor() != null && !quote.getAuthor().isEmpty()) {
-                        message += "\n\n— " + quote.getAuthor();
-                    }
-
-                    response.put("success", true);
-                    response.put("text", message); // FIX: Use 'text'
-                    response.put("type", "quote");
-                    response.put("content_type", "text");
-                    response.put("author", quote.getAuthor() != null ? quote.getAuthor() : "Unknown");
-                } else {
-                    logger.error("Quote service returned null or empty content");
-                    throw new Exception("Quote fetch returned null");
-                }
-
-            } else {
-                Proverb proverb = proverbService.getRandomProverb();
-
-                logger.info("Proverb fetch result: {}", proverb);
-
-                if (proverb != null) {
-                    String message = String.format("🪶 Nigerian Proverb (%s):\n\n%s\n\nMeaning:\n%s",
-                            proverb.getLanguage(), proverb.getProverb(), proverb.getMeaning());
-
-                    response.put("success", true);
-                    response.put("text", message); // FIX: Use 'text'
-                    response.put("type", "proverb");
-                    response.put("content_type", "text");
-                } else {
-                    logger.error("Proverb service returned null");
-                    throw new Exception("Proverb fetch returned null");
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error fetching inspiration: {}", e.getMessage(), e);
-            String fallbackMessage = "🌅 Keep pushing forward! Every day is a new opportunity.";
-
-            response.put("success", true);
-            response.put("text", fallbackMessage); // FIX: Use 'text'
-            response.put("type", "fallback");
-            response.put("content_type", "text");
+    public Mono<ResponseEntity<TelexReply>> getRandomInspiration(@RequestBody(required = false) TelexMessage request) {
+        String channelId = request != null ? request.channelId() : null;
+        logger.debug("Telex Random Inspiration request received for channel {}", channelId);
+
+        boolean sendQuote = Math.random() < 0.5;
+        Mono<TelexReply> inspiration;
+
+        if (sendQuote) {
+            inspiration = externalQuoteService.fetchRandomQuote()
+                    .flatMap(quote -> {
+                        logger.info("Quote fetch result: {}", quote);
+
+                        if (quote.getContent() == null) {
+                            logger.error("Quote service returned null or empty content");
+                            return Mono.error(new Exception("Quote fetch returned null"));
+                        }
+                        String message = "✨ Inspirational Quote:\n\n" + quote.getContent();
+                        if (quote.getAuthor() != null && !quote.getAuthor().isEmpty()) {
+                            message += "\n\n— " + quote.getAuthor();
+                        }
+                        return Mono.just(TelexReply.inspiration("quote", message,
+                                quote.getAuthor() != null ? quote.getAuthor() : "Unknown"));
+                    });
+        } else {
+            inspiration = proverbService.randomProverb(null, channelId)
+                    .map(proverb -> {
+                        logger.info("Proverb fetch result: {}", proverb);
+
+                        return proverbReplies.render(proverb, ProverbReplies.Style.INSPIRATION).reply();
+                    });
         }
 
-        return ResponseEntity.ok(response);
+        return inspiration
+                .switchIfEmpty(Mono.error(new Exception("Inspiration fetch returned nothing")))
+                .onErrorResume(e -> {
+                    logger.error("Error fetching inspiration: {}", e.getMessage(), e);
+                    return Mono.just(INSPIRATION_FALLBACK);
+                })
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/health")
@@ -169,144 +204,139 @@ public class TelexWebhookController {
     }
 
     @GetMapping("/webhook")
-    public Map<String, Object> handleTelexValidation() {
+    public TelexReply handleTelexValidation() {
         // This handler ensures the URL responds to GET for validation checks.
-        Map<String, Object> response = new HashMap<>();
-
-        response.put("success", true);
-        response.put("text", "Proverbly Agent is validated and ready to receive POST messages.");
-        response.put("response_type", "in_channel");
-        response.put("content_type", "text");
-
-        return response;
+        return VALIDATED;
     }
 
     @PostMapping("/webhook")
-    public Map<String, Object> handleTelexMessage(@RequestBody Map<String, Object> payload) {
-        logger.info("Telex webhook message received: {}", payload);
-
-        String message = extractMessageText(payload);
-        Map<String, Object> response = new HashMap<>();
-        String replyText;
+    public Mono<TelexReply> handleTelexMessage(@RequestBody TelexMessage payload) {
+        String message = payload.text();
+        String channelId = payload.channelId();
+        logger.debug("Telex webhook message received for channel {}: {} chars", channelId, message != null ? message.length() : 0);
 
         if (message == null || message.isBlank()) {
-            replyText = "👋 Welcome to *Proverbly Agent!* I'm ready to inspire you. Try `/inspire` or type a command like 'proverb'.";
-
-            response.put("success", true);
-            response.put("text", replyText); // FIX: Use 'text'
-            response.put("response_type", "in_channel"); // ADDED
-            response.put("content_type", "text"); // ADDED
-            return response;
+            return Mono.just(WELCOME);
         }
 
-        Proverb proverb = null;
-        String detectedLanguage;
-
-        try {
-            if (message.startsWith("/start") || message.startsWith("/help")) {
-                replyText = "👋 Welcome to *Proverbly Agent!* \n\nCommands:\n" +
-                        "• `/proverb` - Get a random Nigerian proverb\n" +
-                        "• `/quote` - Get an inspirational quote\n" +
-                        "• `/inspire` - Surprise you with either\n" +
-                        "• You can also say: *Yoruba proverb*, *Hausa proverb*, etc.";
-            } else if (message.contains("proverb")) {
-                detectedLanguage = NIGERIAN_LANGUAGES.stream()
-                        .filter(message::contains)
-                        .findFirst()
-                        .orElse(null);
-
-                try {
-                    proverb = (detectedLanguage != null)
-                            ? proverbService.getRandomByLanguage(detectedLanguage)
-                            : proverbService.getRandomProverb();
-
-                    logger.info("Proverb search - Language: {}, Found: {}", detectedLanguage, proverb);
+        Mono<TelexReply> reply;
+        CommandRouter.Route route = COMMANDS.route(message);
+        String detectedLanguage = route.language() != null ? route.language().code() : null;
+
+        switch (route.command()) {
+            case HELP -> reply = Mono.just(HELP);
+            case SUBSCRIBE -> reply = Mono.fromCallable(() -> channelSubscriptions.subscribe(channelId, detectedLanguage))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(subscription -> TelexReply.inChannel("📬 Subscribed! This channel will get "
+                            + (route.language() != null ? route.language().displayName() + " proverbs" : "the daily proverbs")
+                            + " every morning, afternoon and evening."))
+                    .onErrorResume(e -> {
+                        logger.error("Error subscribing channel {}: {}", channelId, e.getMessage());
+                        return Mono.just(SUBSCRIPTION_FAILED);
+                    });
+            case UNSUBSCRIBE -> reply = Mono.fromCallable(() -> channelSubscriptions.unsubscribe(channelId))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(unsubscribed -> unsubscribed ? UNSUBSCRIBED : NOT_SUBSCRIBED)
+                    .onErrorResume(e -> {
+                        logger.error("Error unsubscribing channel {}: {}", channelId, e.getMessage());
+                        return Mono.just(SUBSCRIPTION_FAILED);
+                    });
+            case SIMILAR -> reply = Mono.fromCallable(() -> proverbService.similarToLastServed(channelId))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(similar -> similar
+                            .map(proverb -> proverbReplies.render(proverb, ProverbReplies.Style.SIMILAR).reply())
+                            .orElse(NOTHING_SERVED_YET))
+                    .onErrorResume(e -> {
+                        logger.error("Error finding a similar proverb: {}", e.getMessage());
+                        return Mono.just(fallbackProverb(null));
+                    });
+            case SEARCH -> {
+                String query = route.argument(message);
+                reply = Mono.fromCallable(() -> proverbService.search(query, detectedLanguage, 1))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .map(matches -> {
+                            logger.info("Proverb search - Query: {}, Language: {}, Matches: {}", query, detectedLanguage, matches.size());
+                            if (matches.isEmpty()) {
+                                return TelexReply.inChannel("🔍 I couldn't find a proverb about *" + query + "* yet. Try `/proverb` for a random one.");
+                            }
+                            Proverb proverb = matches.get(0);
+                            proverbService.recordServed(channelId, proverb);
+                            return proverbReplies.render(proverb, ProverbReplies.Style.CHAT).reply();
+                        })
+                        .onErrorResume(e -> {
+                            logger.error("Error in proverb search: {}", e.getMessage());
+                            return Mono.just(fallbackProverb(detectedLanguage));
+                        });
+            }
+            case PROVERB -> reply = proverbService.randomProverb(detectedLanguage, channelId)
+                    .map(proverb -> {
+                        logger.info("Proverb search - Language: {}, Found: {}", detectedLanguage, proverb);
 
-                    if (proverb != null && proverb.getProverb() != null) {
-                        replyText = String.format("🪶 %s Proverb:\n\n%s\n\nMeaning:\n%s",
-                                proverb.getLanguage(), proverb.getProverb(), proverb.getMeaning());
-                    } else {
-                        replyText = getFallbackProverb(detectedLanguage);
+                        if (proverb.getProverb() != null) {
+                            return proverbReplies.render(proverb, ProverbReplies.Style.CHAT).reply();
+                        }
                         logger.warn("Proverb found but content is null, using fallback");
-                    }
-                } catch (Exception e) {
-                    logger.error("Error in proverb service: {}", e.getMessage());
-                    replyText = getFallbackProverb(detectedLanguage);
-                }
-
-            } else if (message.contains("quote")) {
-                ExternalQuote quote = externalQuoteService.fetchRandomExternalQuote();
-
-                logger.info("Quote fetch - Found: {}", quote);
-
-                if (quote != null && quote.getContent() != null) {
-                    replyText = "✨ Inspirational Quote:\n\n" + quote.getContent();
-                    if (quote.getAuthor() != null && !quote.getAuthor().isEmpty()) {
-                        replyText += "\n\n— " + quote.getAuthor();
-                    }
-                } else {
-                    replyText = getFallbackQuote();
-                    logger.warn("Using fallback quote - External service unavailable");
-                }
-
-            } else {
+                        return fallbackProverb(detectedLanguage);
+                    })
+                    .onErrorResume(e -> {
+                        logger.error("Error in proverb service: {}", e.getMessage());
+                        return Mono.just(fallbackProverb(detectedLanguage));
+                    });
+            case QUOTE -> reply = externalQuoteService.fetchRandomQuote()
+                    .map(quote -> {
+                        logger.info("Quote fetch - Found: {}", quote);
+
+                        if (quote.getContent() == null) {
+                            logger.warn("Using fallback quote - External service unavailable");
+                            return FALLBACK_QUOTE;
+                        }
+                        String text = "✨ Inspirational Quote:\n\n" + quote.getContent();
+                        if (quote.getAuthor() != null && !quote.getAuthor().isEmpty()) {
+                            text += "\n\n— " + quote.getAuthor();
+                        }
+                        return TelexReply.inChannel(text);
+                    });
+            default -> {
                 logger.info("No specific command detected, providing random inspiration");
-                // Call /inspire endpoint and get the response body
-                Map<String, Object> inspireResponse = getRandomInspiration(payload).getBody();
-
-                // Extract the content from the inspire response
-                if (inspireResponse != null && inspireResponse.containsKey("text")) {
-                    replyText = (String) inspireResponse.get("text");
-                } else {
-                    replyText = "I couldn't find anything inspiring right now, but I'm trying!";
-                }
+                // Reuse the /inspire handler and extract the content from its response
+                reply = getRandomInspiration(payload)
+                        .map(inspireResponse -> {
+                            TelexReply body = inspireResponse.getBody();
+                            if (body != null && body.text() != null) {
+                                return TelexReply.inChannel(body.text());
+                            }
+                            return NOTHING_INSPIRING;
+                        });
             }
-
-        } catch (Exception e) {
-            logger.error("CRITICAL ERROR IN MESSAGE HANDLER: {}", e.getMessage(), e);
-            replyText = "⚠️ Something went wrong fetching content, but remember: 'The only way to do great work is to love what you do.' – Steve Jobs";
         }
 
-        response.put("success", true);
-        response.put("text", replyText); // FIX: Use 'text'
-        response.put("response_type", "in_channel"); // ADDED
-        response.put("content_type", "text"); // ADDED
-
-        return response;
-    }
-
-    private String getFallbackProverb(String language) {
-        Map<String, String> fallbackProverbs = Map.of(
-                "yoruba", "🪶 Yoruba Proverb:\n\nÌwà l'ẹ̀ṣọ́\n\nMeaning:\nCharacter is religion",
-                "igbo", "🪶 Igbo Proverb:\n\nEgbe bere, ugo bere\n\nMeaning:\nLet the eagle perch, let the hawk perch",
-                "hausa", "🪶 Hausa Proverb:\n\nRashin ruwa, ragon zaki\n\nMeaning:\nLack of water is death to the lion",
-                "efik", "🪶 Efik Proverb:\n\nUdeme kiet ididaha nda\n\nMeaning:\nOne finger cannot lift a load",
-                "ibibio", "𪎨 Ibibio Proverb:\n\nEkpo akpa enyin, ikpaha utọn̄\n\nMeaning:\nThe spirit is blind but not deaf",
-                "general", "𪎨 Nigerian Proverb:\n\nHowever long the night, the day is sure to come\n\nMeaning:\nNo situation lasts forever"
-        );
-
-        String proverb = fallbackProverbs.get(language != null ? language : "general");
-        return proverb != null ? proverb : fallbackProverbs.get("general");
+        return reply
+                .onErrorResume(e -> {
+                    logger.error("CRITICAL ERROR IN MESSAGE HANDLER: {}", e.getMessage(), e);
+                    return Mono.just(HANDLER_FAILED);
+                });
     }
 
-    private String getFallbackQuote() {
-        return "✨ Inspirational Quote:\n\nThe only way to do great work is to love what you do.\n\n— Steve Jobs";
+    private static CommandRouter commandRouter() {
+        CommandRouter.Builder builder = CommandRouter.builder()
+                .startsWith("/start", CommandRouter.Command.HELP)
+                .startsWith("/help", CommandRouter.Command.HELP)
+                .startsWith("/subscribe", CommandRouter.Command.SUBSCRIBE)
+                .startsWith("/unsubscribe", CommandRouter.Command.UNSUBSCRIBE)
+                .startsWith("/similar", CommandRouter.Command.SIMILAR)
+                .contains("more like this", CommandRouter.Command.SIMILAR)
+                .startsWithArgument("/search", CommandRouter.Command.SEARCH)
+                .phraseWithArgument("proverb about", CommandRouter.Command.SEARCH)
+                .phraseWithArgument("proverbs about", CommandRouter.Command.SEARCH)
+                .phraseWithArgument("proverb on", CommandRouter.Command.SEARCH)
+                .phraseWithArgument("proverbs on", CommandRouter.Command.SEARCH)
+                .contains("proverb", CommandRouter.Command.PROVERB)
+                .contains("quote", CommandRouter.Command.QUOTE);
+        Language.nigerian().forEach(builder::language);
+        return builder.build();
     }
 
-    private String extractMessageText(Map<String, Object> payload) {
-        try {
-            if (payload.containsKey("message")) {
-                Object messageObj = payload.get("message");
-                if (messageObj instanceof Map) {
-                    Map<?, ?> message = (Map<?, ?>) messageObj;
-                    if (message.containsKey("text")) {
-                        return message.get("text").toString().toLowerCase();
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error parsing message payload: {}", e.getMessage());
-        }
-        return null;
+    private static TelexReply fallbackProverb(String language) {
+        return FALLBACK_PROVERBS.getOrDefault(language != null ? language : "general", FALLBACK_PROVERBS.get("general"));
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,11 @@
 package com.example.proverb.dto;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class ExternalQuote {
 
-    @JsonAlias("q")
+    @JsonAlias({"q", "quote"})
     private String content;
 
     @JsonAlias("a")
@@ -12,6 +13,9 @@ public class ExternalQuote {
 
     private String h;
 
+    @JsonIgnore
+    private String source;
+
     public ExternalQuote() {}
 
     public ExternalQuote(String content, String author) {
@@ -37,6 +41,13 @@ public class ExternalQuote {
     public void setH(String h) {
         this.h = h;
     }
+    @JsonIgnore
+    public String getSource() {
+        return source;
+    }
+    public void setSource(String source) {
+        this.source = source;
+    }
     @Override
     public String toString() {
         return "Quote: \"" + content + "\" — " + author;
@@ -1,5 +1,6 @@
 package com.example.proverb.dto;
 
+import com.example.proverb.model.Proverb;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -11,5 +12,15 @@ public class ProverbResponse {
     private String proverb;
     private String translation;
     private String meaning;
+
+    public static ProverbResponse of(Proverb proverb) {
+        ProverbResponse dto = new ProverbResponse();
+        dto.setId(proverb.getId());
+        dto.setLanguage(proverb.getLanguage());
+        dto.setProverb(proverb.getProverb());
+        dto.setTranslation(proverb.getTranslation());
+        dto.setMeaning(proverb.getMeaning());
+        return dto;
+    }
 }
 
@@ -0,0 +1,12 @@
+package com.example.proverb.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * The parts of a Telex webhook body the agent reads: {@code message.text}, and the channel id
+ * from {@code channel_id} or, failing that, {@code message.channel_id}. Everything else Telex
+ * sends is skipped by {@link TelexMessageDeserializer} without being materialized.
+ */
+@JsonDeserialize(using = TelexMessageDeserializer.class)
+public record TelexMessage(String text, String channelId) {
+}
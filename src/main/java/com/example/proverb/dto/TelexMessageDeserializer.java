@@ -0,0 +1,64 @@
+package com.example.proverb.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Streams a webhook body into a {@link TelexMessage}. Only the wanted fields are read as strings;
+ * every other value, however deeply nested, is passed over with {@link JsonParser#skipChildren()},
+ * so settings, history and metadata never become maps, lists or strings.
+ */
+public class TelexMessageDeserializer extends StdDeserializer<TelexMessage> {
+
+    public TelexMessageDeserializer() {
+        super(TelexMessage.class);
+    }
+
+    @Override
+    public TelexMessage deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new TelexMessage(null, null);
+        }
+        String text = null;
+        String channelId = null;
+        String messageChannelId = null;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            JsonToken value = parser.nextToken();
+            if ("channel_id".equals(field)) {
+                channelId = scalar(parser);
+            } else if ("message".equals(field) && value == JsonToken.START_OBJECT) {
+                for (String inner = parser.nextFieldName(); inner != null; inner = parser.nextFieldName()) {
+                    parser.nextToken();
+                    if ("text".equals(inner)) {
+                        text = scalar(parser);
+                    } else if ("channel_id".equals(inner)) {
+                        messageChannelId = scalar(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new TelexMessage(text, channelId != null ? channelId : messageChannelId);
+    }
+
+    /** The value as text when it is a string, number or boolean; {@code null} otherwise. */
+    private static String scalar(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.proverb.dto;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * What the Telex endpoints answer with. {@link TelexReplySerializer} writes the wire names
+ * ({@code response_type}, {@code content_type}) and omits fields left {@code null}.
+ *
+ * <p>{@code encoded}, when set, is this reply already serialized (see {@link #encode()}); it is
+ * written as-is, so replies that are built once and sent many times cost a byte copy.
+ */
+@JsonSerialize(using = TelexReplySerializer.class)
+public record TelexReply(
+        boolean success,
+        String text,
+        String responseType,
+        String contentType,
+        String type,
+        String author,
+        SerializableString encoded) {
+
+    private static final String IN_CHANNEL = "in_channel";
+    private static final String TEXT = "text";
+
+    /** A chat reply posted into the channel. */
+    public static TelexReply inChannel(String text) {
+        return new TelexReply(true, text, IN_CHANNEL, TEXT, null, null, null);
+    }
+
+    /** An {@code /inspire} result of the given {@code type} ("quote", "proverb" or "fallback"). */
+    public static TelexReply inspiration(String type, String text, String author) {
+        return new TelexReply(true, text, null, TEXT, type, author, null);
+    }
+
+    /** The same reply carrying its own UTF-8 JSON, for replies that are cached and reused. */
+    public TelexReply encode() {
+        return encoded != null ? this
+                : new TelexReply(success, text, responseType, contentType, type, author, TelexReplySerializer.encode(this));
+    }
+}
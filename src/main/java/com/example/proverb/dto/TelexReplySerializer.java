@@ -0,0 +1,73 @@
+package com.example.proverb.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link TelexReply} field by field with pre-quoted names, or, when the reply carries
+ * its encoded form, copies those bytes straight into the output.
+ */
+public class TelexReplySerializer extends StdSerializer<TelexReply> {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString TEXT = new SerializedString("text");
+    private static final SerializedString RESPONSE_TYPE = new SerializedString("response_type");
+    private static final SerializedString CONTENT_TYPE = new SerializedString("content_type");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString AUTHOR = new SerializedString("author");
+
+    public TelexReplySerializer() {
+        super(TelexReply.class);
+    }
+
+    @Override
+    public void serialize(TelexReply reply, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (reply.encoded() != null) {
+            generator.writeRawValue(reply.encoded());
+        } else {
+            write(reply, generator);
+        }
+    }
+
+    /** {@code reply} as JSON, with its UTF-8 bytes computed up front rather than on first write. */
+    static SerializableString encode(TelexReply reply) {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON.createGenerator(json)) {
+            write(reply, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        SerializedString encoded = new SerializedString(json.toString());
+        encoded.asUnquotedUTF8();
+        return encoded;
+    }
+
+    private static void write(TelexReply reply, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(SUCCESS);
+        generator.writeBoolean(reply.success());
+        writeIfSet(generator, TEXT, reply.text());
+        writeIfSet(generator, RESPONSE_TYPE, reply.responseType());
+        writeIfSet(generator, CONTENT_TYPE, reply.contentType());
+        writeIfSet(generator, TYPE, reply.type());
+        writeIfSet(generator, AUTHOR, reply.author());
+        generator.writeEndObject();
+    }
+
+    private static void writeIfSet(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            generator.writeString(value);
+        }
+    }
+}
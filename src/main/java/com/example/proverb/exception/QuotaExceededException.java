@@ -0,0 +1,8 @@
+package com.example.proverb.exception;
+
+/** An upstream quota is spent; the call was refused locally or by the provider. Not a provider fault. */
+public class QuotaExceededException extends RuntimeException {
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.proverb.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A Telex channel that receives the scheduled broadcasts. {@code languageCode} is a
+ * {@link Language#code()} the channel prefers, or {@code null} for the session's default mix.
+ */
+@Entity
+@Table(name = "channel_subscription",
+        indexes = @Index(name = "idx_channel_subscription_active", columnList = "active, channel_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelSubscription {
+
+    public static final int CHANNEL_ID_LENGTH = 200;
+
+    @Id
+    @Column(name = "channel_id", length = CHANNEL_ID_LENGTH)
+    private String channelId;
+
+    @Column(name = "language_code", length = Language.CODE_LENGTH)
+    private String languageCode;
+
+    private boolean active;
+
+    @Column(name = "subscribed_at")
+    private LocalDateTime subscribedAt;
+}
@@ -0,0 +1,69 @@
+package com.example.proverb.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * The catalog's languages. {@link #code()} is what {@code proverb.language_code} stores and what
+ * every lookup compares against, so reads are equality matches on an indexed column rather than
+ * {@code upper(language) = upper(?)} scans. The display name stays in {@code proverb.language}.
+ */
+public enum Language {
+
+    YORUBA("Yoruba", true),
+    IGBO("Igbo", true),
+    HAUSA("Hausa", true),
+    EFIK("Efik", true),
+    IBIBIO("Ibibio", true),
+    ENGLISH("English", false);
+
+    /** Widest code the column has to hold; imported rows may carry languages outside this enum. */
+    public static final int CODE_LENGTH = 32;
+
+    private static final List<Language> NIGERIAN = Arrays.stream(values()).filter(Language::isNigerian).toList();
+
+    private final String displayName;
+    private final boolean nigerian;
+
+    Language(String displayName, boolean nigerian) {
+        this.displayName = displayName;
+        this.nigerian = nigerian;
+    }
+
+    public String code() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    public boolean isNigerian() {
+        return nigerian;
+    }
+
+    public static List<Language> nigerian() {
+        return NIGERIAN;
+    }
+
+    public static Optional<Language> fromName(String language) {
+        String code = normalize(language);
+        for (Language candidate : values()) {
+            if (candidate.code().equals(code)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Trimmed, lower-cased form of any language name; {@code null} for blanks. */
+    public static String normalize(String language) {
+        if (language == null || language.isBlank()) {
+            return null;
+        }
+        String code = language.trim().toLowerCase(Locale.ROOT);
+        return code.length() > CODE_LENGTH ? code.substring(0, CODE_LENGTH) : code;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.proverb.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbound Telex message, written before it is sent and kept as the record of what went out.
+ * {@code idempotencyKey} is unique, so enqueuing the same message twice (a re-run, a catch-up
+ * after restart) is a no-op. A claimed row carries its lease in {@code leaseOwner} and has
+ * {@code nextAttemptAt} pushed to the lease's end: should its sender die, the row simply comes
+ * due again. The table is read and written through {@code OutboxStore}; the mapping here defines
+ * its schema.
+ */
+@Entity
+@Table(name = "outbox_message",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outbox_message_idempotency_key", columnNames = "idempotency_key"),
+        indexes = @Index(name = "idx_outbox_message_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+    public static final int KEY_LENGTH = 255;
+    public static final int BODY_LENGTH = 8000;
+    public static final int ERROR_LENGTH = 500;
+
+    public enum Status {
+        PENDING, DELIVERED, DEAD
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "idempotency_key", length = KEY_LENGTH, nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "channel_id", length = ChannelSubscription.CHANNEL_ID_LENGTH, nullable = false)
+    private String channelId;
+
+    @Column(length = BODY_LENGTH, nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Status status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "last_error", length = ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+}
@@ -1,5 +1,7 @@
 package com.example.proverb.model;
 
+import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.provider.QuoteProviderRouter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,28 +21,19 @@ public class ProactiveQuoteSender {
 
     private static final Logger logger = LoggerFactory.getLogger(ProactiveQuoteSender.class);
 
-    private final WebClient zenQuotesClient;
-    private final WebClient quotableClient;
+    private final QuoteProviderRouter quoteProviderRouter;
     private final WebClient localApiClient = WebClient.create("http://localhost:8080");
 
-    private String currentApiSource;
-
     @Scheduled(fixedRate = 3600000)
     public void fetchAndSendProverb() {
         try {
-            currentApiSource = "ZenQuotes";
-            String endpoint = "/random";
-
-            logger.info(" Fetching quote from [{}] at {}", currentApiSource, now());
+            logger.info(" Fetching quote from the best available provider at {}", now());
 
-            zenQuotesClient.get()
-                    .uri(endpoint)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .flatMap(this::handleQuoteResponse)
+            quoteProviderRouter.fetchOne()
+                    .flatMap(this::handleQuote)
                     .onErrorResume(e -> {
-                        logger.warn(" ZenQuotes failed — switching to Quotable: {}", e.getMessage());
-                        return fetchFromQuotable();
+                        logger.error(" All quote sources failed: {}", e.getMessage());
+                        return Mono.empty();
                     })
                     .block();
 
@@ -48,54 +41,18 @@ public class ProactiveQuoteSender {
             logger.error(" Unexpected error during proactive fetch: {}", e.getMessage());
         }
     }
-    private Mono<Void> fetchFromQuotable() {
-        currentApiSource = "Quotable";
-        logger.info(" Attempting fallback to [{}] at {}", currentApiSource, now());
-
-        return quotableClient.get()
-                .uri("/random")
-                .retrieve()
-                .bodyToMono(String.class)
-                .flatMap(this::handleQuoteResponse)
-                .onErrorResume(e -> {
-                    logger.error(" Both APIs failed: {}", e.getMessage());
-                    return Mono.empty();
-                });
-    }
-    private Mono<Void> handleQuoteResponse(String response) {
-        if (response == null || response.isEmpty()) {
-            logger.warn(" Empty response from [{}]", currentApiSource);
-            return Mono.empty();
-        }
-
-        String trimmed = response.length() > 120 ? response.substring(0, 120) + "..." : response;
-        logger.info(" [{}] Quote Response: {}", currentApiSource, trimmed);
-
-        String quoteText = extractQuote(response);
+    private Mono<Void> handleQuote(ExternalQuote quote) {
+        String quoteText = quote.getContent();
 
         if (quoteText == null || quoteText.isBlank()) {
-            logger.warn("No valid quote text found in [{}] response", currentApiSource);
+            logger.warn("No valid quote text found in [{}] response", quote.getSource());
             return Mono.empty();
         }
 
-        return sendToBackend(quoteText);
-    }
-    private String extractQuote(String json) {
-        try {
-            if (json.contains("\"q\"")) {
-                int start = json.indexOf("\"q\"") + 5;
-                int end = json.indexOf("\"", start);
-                return json.substring(start, end);
-            }
-            else if (json.contains("\"content\"")) {
-                int start = json.indexOf("\"content\"") + 11;
-                int end = json.indexOf("\"", start);
-                return json.substring(start, end);
-            }
-        } catch (Exception ignored) {}
-        return null;
+        logger.info(" [{}] Quote: {}", quote.getSource(), quoteText);
+        return sendToBackend(quoteText, quote.getSource());
     }
-    private Mono<Void> sendToBackend(String quoteText) {
+    private Mono<Void> sendToBackend(String quoteText, String source) {
         logger.info("Sending fetched quote to backend: {}", quoteText);
 
         return localApiClient.post()
@@ -103,7 +60,7 @@ public class ProactiveQuoteSender {
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(Map.of(
                         "quote", quoteText,
-                        "source", currentApiSource,
+                        "source", source,
                         "timestamp", now()
                 ))
                 .retrieve()
@@ -8,22 +8,40 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Entity
-@Table(name = "proverb")
+@Table(name = "proverb",
+        uniqueConstraints = @UniqueConstraint(name = "uk_proverb_content_hash", columnNames = "content_hash"),
+        indexes = {
+                @Index(name = "idx_proverb_language_code", columnList = "language_code, id"),
+                @Index(name = "idx_proverb_random_key", columnList = "random_key"),
+                @Index(name = "idx_proverb_language_random_key", columnList = "language_code, random_key")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Proverb {
 
+    /** Ids are reserved in blocks so inserts can be JDBC-batched, which IDENTITY rules out. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /** Random keys are drawn uniformly from {@code [0, RANDOM_KEY_BOUND)}. */
+    public static final int RANDOM_KEY_BOUND = Integer.MAX_VALUE;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proverb_seq")
+    @SequenceGenerator(name = "proverb_seq", sequenceName = "proverb_seq", allocationSize = Proverb.ID_ALLOCATION_SIZE)
     private Long id;
 
     private String language;
 
+    /** {@link Language#normalize} of {@link #language}, kept in step on every write. */
+    @Column(name = "language_code", length = Language.CODE_LENGTH)
+    private String languageCode;
+
     @Column(length = 1000)
     private String proverb;
 
@@ -44,4 +62,24 @@ public class Proverb {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /** Fixed at insert; database-mode selection seeks to a random point in this key space. */
+    @Column(name = "random_key")
+    private Integer randomKey;
+
+    @PrePersist
+    void assignRandomKey() {
+        if (randomKey == null) {
+            randomKey = ThreadLocalRandom.current().nextInt(RANDOM_KEY_BOUND);
+        }
+        normalizeLanguage();
+    }
+
+    @PreUpdate
+    void normalizeLanguage() {
+        languageCode = Language.normalize(language);
+    }
 }
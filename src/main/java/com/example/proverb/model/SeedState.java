@@ -0,0 +1,32 @@
+package com.example.proverb.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Checksum of the last seed file applied, so unchanged files are skipped on restart. */
+@Entity
+@Table(name = "seed_state")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeedState {
+
+    @Id
+    @Column(length = 200)
+    private String source;
+
+    @Column(length = 64, nullable = false)
+    private String checksum;
+
+    private long entries;
+
+    @Column(name = "seeded_at")
+    private LocalDateTime seededAt;
+}
@@ -0,0 +1,92 @@
+package com.example.proverb.provider;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * When to send a hedged (second) quote request, and how many. The delay tracks the primary
+ * provider's observed latency percentile; the budget is a token bucket that earns
+ * {@code budget-ratio} of a token per routed request and spends one per hedge, so hedges
+ * stay a bounded fraction of upstream traffic however slow the primary gets.
+ */
+@Component
+public class HedgePolicy {
+
+    private static final long MILLI_TOKENS = 1000;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration initialDelay;
+    private final long depositMilliTokens;
+    private final long capacityMilliTokens;
+    private final AtomicLong milliTokens;
+
+    public HedgePolicy(
+            @Value("${proverbly.providers.hedge.enabled:true}") boolean enabled,
+            @Value("${proverbly.providers.hedge.percentile:0.95}") double percentile,
+            @Value("${proverbly.providers.hedge.min-delay:PT0.05S}") Duration minDelay,
+            @Value("${proverbly.providers.hedge.initial-delay:PT0.5S}") Duration initialDelay,
+            @Value("${proverbly.providers.hedge.budget-ratio:0.1}") double budgetRatio,
+            @Value("${proverbly.providers.hedge.budget-burst:10}") int budgetBurst) {
+
+        if (percentile <= 0 || percentile > 1 || budgetRatio < 0 || budgetBurst < 0) {
+            throw new IllegalArgumentException("Hedge percentile must be in (0, 1] and the budget non-negative");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.initialDelay = initialDelay;
+        this.depositMilliTokens = Math.round(budgetRatio * MILLI_TOKENS);
+        this.capacityMilliTokens = budgetBurst * MILLI_TOKENS;
+        this.milliTokens = new AtomicLong(capacityMilliTokens);
+    }
+
+    public static HedgePolicy disabled() {
+        return new HedgePolicy(false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** The primary's latency percentile, or the initial delay until it has samples. */
+    public Duration delayFor(ProviderHealth primary, Duration timeout) {
+        Duration observed = primary.latencyPercentile(percentile);
+        Duration delay = observed != null ? observed : initialDelay;
+        if (delay.compareTo(minDelay) < 0) {
+            delay = minDelay;
+        }
+        return delay.compareTo(timeout) < 0 ? delay : timeout;
+    }
+
+    /** Called once per routed request. */
+    public void deposit() {
+        milliTokens.accumulateAndGet(depositMilliTokens, (current, add) -> Math.min(capacityMilliTokens, current + add));
+    }
+
+    /** Spends one token if the budget allows another hedge. */
+    public boolean tryWithdraw() {
+        while (true) {
+            long current = milliTokens.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+            if (milliTokens.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+
+    /** Returns a token withdrawn for a hedge that was not sent after all. */
+    public void refund() {
+        milliTokens.accumulateAndGet(MILLI_TOKENS, (current, add) -> Math.min(capacityMilliTokens, current + add));
+    }
+
+    public double availableTokens() {
+        return milliTokens.get() / (double) MILLI_TOKENS;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+@Order(Integer.MAX_VALUE)
+public class OfflineQuoteProvider implements QuoteProvider {
+
+    public static final String NAME = "Offline";
+
+    private final WebClient offlineWebClient;
+
+    public OfflineQuoteProvider(@Qualifier("offlineWebClient") WebClient offlineWebClient) {
+        this.offlineWebClient = offlineWebClient;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Mono<ExternalQuote> fetchOne() {
+        return offlineWebClient.get()
+                .uri("/random")
+                .retrieve()
+                .bodyToMono(ExternalQuote.class)
+                .doOnNext(quote -> {
+                    quote.setContent(quote.getContent() != null ? quote.getContent().trim() : null);
+                    quote.setSource(NAME);
+                });
+    }
+
+    @Override
+    public Mono<List<ExternalQuote>> fetchBatch() {
+        return fetchOne().map(List::of);
+    }
+
+    @Override
+    public boolean isFallback() {
+        return true;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.proverb.provider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rolling health of one upstream provider: EWMA latency and error rate, a window of recent
+ * latencies for percentiles, and a circuit breaker. After {@code failureThreshold} consecutive
+ * failures the circuit opens for {@code openDuration}, then lets a single half-open probe
+ * through; the probe's outcome closes the circuit or re-opens it.
+ */
+public class ProviderHealth {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final double ALPHA = 0.2;
+    private static final int LATENCY_WINDOW = 64;
+
+    private final String provider;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final long[] recentLatencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyCursor;
+
+    private volatile State state = State.CLOSED;
+    private volatile double latencyEwmaMillis;
+    private volatile double errorRate;
+    private int consecutiveFailures;
+    private long openUntilMillis;
+    private boolean probeInFlight;
+    private long successes;
+    private long failures;
+
+    public ProviderHealth(String provider, int failureThreshold, Duration openDuration, Clock clock) {
+        this.provider = provider;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    public String provider() {
+        return provider;
+    }
+
+    /**
+     * Whether a request may be sent now. In the half-open state only one caller gets
+     * {@code true} until that probe reports back.
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        lock.lock();
+        try {
+            if (state == State.OPEN && clock.millis() >= openUntilMillis) {
+                state = State.HALF_OPEN;
+                probeInFlight = false;
+            }
+            if (state == State.HALF_OPEN && !probeInFlight) {
+                probeInFlight = true;
+                return true;
+            }
+            return state == State.CLOSED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordSuccess(Duration latency) {
+        lock.lock();
+        try {
+            successes++;
+            consecutiveFailures = 0;
+            errorRate = (1 - ALPHA) * errorRate;
+            long millis = latency.toMillis();
+            latencyEwmaMillis = latencyCount == 0 ? millis : (1 - ALPHA) * latencyEwmaMillis + ALPHA * millis;
+            recentLatencies[latencyCursor] = millis;
+            latencyCursor = (latencyCursor + 1) % LATENCY_WINDOW;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+            state = State.CLOSED;
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordFailure() {
+        lock.lock();
+        try {
+            failures++;
+            consecutiveFailures++;
+            errorRate = (1 - ALPHA) * errorRate + ALPHA;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openUntilMillis = clock.millis() + openDuration.toMillis();
+            }
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** A cancelled call says nothing about the provider; it only frees the half-open probe slot. */
+    public void recordCancelled() {
+        lock.lock();
+        try {
+            probeInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lower is better: expected latency inflated by the recent error rate. A provider that has
+     * only ever failed has no latency to inflate and ranks behind every one that has answered.
+     */
+    public double score() {
+        if (latencyCount == 0 && failures > 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double latency = latencyCount == 0 ? 0 : latencyEwmaMillis;
+        return (latency + 1) * (1 + 4 * errorRate);
+    }
+
+    /** Latency percentile over the recent window, or {@code null} with no samples yet. */
+    public Duration latencyPercentile(double percentile) {
+        lock.lock();
+        try {
+            if (latencyCount == 0) {
+                return null;
+            }
+            long[] sorted = Arrays.copyOf(recentLatencies, latencyCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * latencyCount) - 1;
+            return Duration.ofMillis(sorted[Math.max(0, Math.min(index, latencyCount - 1))]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public double latencyEwmaMillis() {
+        return latencyEwmaMillis;
+    }
+
+    public double errorRate() {
+        return errorRate;
+    }
+
+    public Map<String, Object> describe() {
+        Duration p95 = latencyPercentile(0.95);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("latencyEwmaMs", Math.round(latencyEwmaMillis));
+        stats.put("latencyP95Ms", p95 != null ? p95.toMillis() : null);
+        stats.put("errorRate", Math.round(errorRate * 1000) / 1000.0);
+        stats.put("successes", successes);
+        stats.put("failures", failures);
+        stats.put("score", Math.round(score()));
+        return stats;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@Order(2)
+public class QuotableProvider implements QuoteProvider {
+
+    public static final String NAME = "Quotable";
+    private static final int BATCH_SIZE = 50;
+
+    private final WebClient quotableClient;
+
+    public QuotableProvider(@Qualifier("quotableClient") WebClient quotableClient) {
+        this.quotableClient = quotableClient;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Mono<ExternalQuote> fetchOne() {
+        return quotableClient.get()
+                .uri("/random")
+                .retrieve()
+                .bodyToMono(ExternalQuote.class)
+                .filter(QuoteProvider::isUsable)
+                .doOnNext(quote -> quote.setSource(NAME))
+                .switchIfEmpty(Mono.error(new IllegalStateException("Empty response from Quotable")));
+    }
+
+    @Override
+    public Mono<List<ExternalQuote>> fetchBatch() {
+        return quotableClient.get()
+                .uri(uri -> uri.path("/quotes/random").queryParam("limit", BATCH_SIZE).build())
+                .retrieve()
+                .bodyToMono(ExternalQuote[].class)
+                .map(response -> Arrays.stream(response)
+                        .filter(QuoteProvider::isUsable)
+                        .peek(quote -> quote.setSource(NAME))
+                        .toList());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface QuoteProvider {
+
+    String name();
+
+    Mono<ExternalQuote> fetchOne();
+
+    /** A batch of quotes in one round-trip, for buffer refills. */
+    Mono<List<ExternalQuote>> fetchBatch();
+
+    /** Fallback providers are local, never tripped, and only used when nothing else answers. */
+    default boolean isFallback() {
+        return false;
+    }
+
+    static boolean isUsable(ExternalQuote quote) {
+        return quote != null && quote.getContent() != null && !quote.getContent().isBlank();
+    }
+}
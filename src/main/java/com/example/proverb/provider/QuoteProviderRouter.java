@@ -0,0 +1,235 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.exception.QuotaExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Routes each quote request to the healthiest upstream provider at the time of the call,
+ * falling through the remaining providers (best score first) and finally to the offline source.
+ * Replaces the one-off connectivity probe that used to pick a provider at startup.
+ *
+ * <p>Single quotes are hedged: if the primary has not answered within its observed latency
+ * percentile, the rest of the chain (next provider, else the offline source) starts early and the
+ * first quote wins; the loser is cancelled. {@link HedgePolicy} caps how often that happens.
+ */
+@Component
+public class QuoteProviderRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteProviderRouter.class);
+
+    private final List<Route> routes = new ArrayList<>();
+    private final QuoteProvider fallback;
+    private final Duration timeout;
+    private final HedgePolicy hedgePolicy;
+
+    private final Counter requests;
+    private final Counter hedgesSent;
+    private final Counter hedgeWins;
+    private final Counter hedgesDenied;
+
+    public QuoteProviderRouter(
+            List<QuoteProvider> providers,
+            HedgePolicy hedgePolicy,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.providers.timeout:PT3S}") Duration timeout,
+            @Value("${proverbly.providers.circuit.failure-threshold:3}") int failureThreshold,
+            @Value("${proverbly.providers.circuit.open-duration:PT30S}") Duration openDuration) {
+
+        QuoteProvider fallbackProvider = null;
+        for (QuoteProvider provider : providers) {
+            if (provider.isFallback()) {
+                fallbackProvider = fallbackProvider == null ? provider : fallbackProvider;
+                continue;
+            }
+            ProviderHealth health = new ProviderHealth(provider.name(), failureThreshold, openDuration, Clock.systemUTC());
+            routes.add(new Route(provider, health));
+            Gauge.builder("proverbly.providers.latency.ewma", health, ProviderHealth::latencyEwmaMillis)
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("proverbly.providers.error.rate", health, ProviderHealth::errorRate)
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("proverbly.providers.circuit.open", health, h -> h.state() == ProviderHealth.State.CLOSED ? 0 : 1)
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+        }
+        this.fallback = fallbackProvider;
+        this.timeout = timeout;
+        this.hedgePolicy = hedgePolicy;
+
+        this.requests = meterRegistry.counter("proverbly.providers.requests");
+        this.hedgesSent = Counter.builder("proverbly.providers.hedge.sent")
+                .description("Hedged requests started because the primary was slower than its threshold")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("proverbly.providers.hedge.wins")
+                .description("Hedged requests that answered before the primary")
+                .register(meterRegistry);
+        this.hedgesDenied = Counter.builder("proverbly.providers.hedge.denied")
+                .description("Hedges skipped because the hedge budget was spent")
+                .register(meterRegistry);
+        Gauge.builder("proverbly.providers.hedge.budget", hedgePolicy, HedgePolicy::availableTokens)
+                .register(meterRegistry);
+    }
+
+    /** One quote from the best available provider; falls back to the offline source, never errors. */
+    public Mono<ExternalQuote> fetchOne() {
+        Mono<ExternalQuote> routed = hedgePolicy.isEnabled() ? hedged() : route(QuoteProvider::fetchOne);
+        if (fallback == null) {
+            return routed;
+        }
+        return routed.onErrorResume(e -> {
+            logger.warn("All quote providers failed ({}) — using {}", e.getMessage(), fallback.name());
+            return fallback.fetchOne();
+        });
+    }
+
+    /** A batch from the best available upstream provider; errors if none is reachable. */
+    public Mono<List<ExternalQuote>> fetchBatch() {
+        return route(QuoteProvider::fetchBatch);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Route route : routes) {
+            stats.put(route.provider.name(), route.health.describe());
+        }
+        if (hedgePolicy.isEnabled()) {
+            Map<String, Object> hedging = new LinkedHashMap<>();
+            hedging.put("hedgeRate", ratio(hedgesSent.count(), requests.count()));
+            hedging.put("winRate", ratio(hedgeWins.count(), hedgesSent.count()));
+            hedging.put("denied", (long) hedgesDenied.count());
+            hedging.put("budget", hedgePolicy.availableTokens());
+            stats.put("hedging", hedging);
+        }
+        return stats;
+    }
+
+    List<ProviderHealth> health() {
+        return routes.stream().map(route -> route.health).toList();
+    }
+
+    private <T> Mono<T> route(Function<QuoteProvider, Mono<T>> call) {
+        return Mono.defer(() -> attempt(ranked(), 0, call, null));
+    }
+
+    private Mono<ExternalQuote> hedged() {
+        return Mono.defer(() -> {
+            requests.increment();
+            hedgePolicy.deposit();
+            List<Route> ranked = ranked();
+            int primaryIndex = acquire(ranked, 0);
+            if (primaryIndex < 0) {
+                return Mono.error(new IllegalStateException("No quote provider available"));
+            }
+            Route primary = ranked.get(primaryIndex);
+            // Whoever flips this first (the hedge timer or the primary failing) runs the rest of
+            // the chain, so the same provider is never called twice for one request.
+            AtomicBoolean restStarted = new AtomicBoolean();
+            Mono<ExternalQuote> rest = Mono.defer(() -> {
+                Mono<ExternalQuote> next = attempt(ranked, primaryIndex + 1, QuoteProvider::fetchOne, null);
+                return fallback == null ? next : next.onErrorResume(e -> fallback.fetchOne());
+            });
+
+            Mono<ExternalQuote> primaryCall = invoke(primary, QuoteProvider::fetchOne)
+                    .onErrorResume(e -> {
+                        logger.warn("{} failed: {}", primary.provider.name(), e.getMessage());
+                        return restStarted.compareAndSet(false, true) ? rest : Mono.empty();
+                    });
+            Mono<ExternalQuote> hedgeCall = Mono.delay(hedgePolicy.delayFor(primary.health, timeout))
+                    .flatMap(tick -> {
+                        // Budget first: once taken, the flag is never handed back, so a primary
+                        // failing meanwhile can always still start the rest of the chain.
+                        if (!hedgePolicy.tryWithdraw()) {
+                            hedgesDenied.increment();
+                            return Mono.empty();
+                        }
+                        if (!restStarted.compareAndSet(false, true)) {
+                            hedgePolicy.refund();
+                            return Mono.empty();
+                        }
+                        hedgesSent.increment();
+                        return rest.doOnNext(quote -> hedgeWins.increment());
+                    });
+            return Mono.firstWithValue(primaryCall, hedgeCall);
+        });
+    }
+
+    private static int acquire(List<Route> ranked, int from) {
+        for (int i = from; i < ranked.size(); i++) {
+            if (ranked.get(i).health.tryAcquire()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double ratio(double part, double whole) {
+        return whole == 0 ? 0 : Math.round(part / whole * 1000) / 1000.0;
+    }
+
+    private List<Route> ranked() {
+        List<Route> ranked = new ArrayList<>(routes);
+        ranked.sort(Comparator.comparingDouble(route -> route.health.score()));
+        return ranked;
+    }
+
+    private <T> Mono<T> attempt(List<Route> ranked, int index, Function<QuoteProvider, Mono<T>> call, Throwable last) {
+        int i = acquire(ranked, index);
+        if (i >= 0) {
+            Route route = ranked.get(i);
+            int next = i + 1;
+            return invoke(route, call)
+                    .onErrorResume(e -> {
+                        logger.warn("{} failed: {}", route.provider.name(), e.getMessage());
+                        return attempt(ranked, next, call, e);
+                    });
+        }
+        return Mono.error(last != null ? last : new IllegalStateException("No quote provider available"));
+    }
+
+    <T> Mono<T> invoke(Route route, Function<QuoteProvider, Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.apply(route.provider)
+                    .timeout(timeout)
+                    // An empty answer is no answer: count it against the provider and fall through to the next.
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException(route.provider.name() + " returned nothing")))
+                    .doOnNext(value -> route.health.recordSuccess(Duration.ofNanos(System.nanoTime() - start)))
+                    .doOnError(e -> {
+                        // A spent quota is a refusal, not a fault: skip the provider without tripping it.
+                        if (e instanceof QuotaExceededException) {
+                            route.health.recordCancelled();
+                        } else {
+                            route.health.recordFailure();
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            route.health.recordCancelled();
+                        }
+                    });
+        });
+    }
+
+    record Route(QuoteProvider provider, ProviderHealth health) {
+    }
+}
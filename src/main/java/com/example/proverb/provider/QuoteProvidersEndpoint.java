@@ -0,0 +1,29 @@
+package com.example.proverb.provider;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code /actuator/quoteproviders}: live routing stats per upstream provider. */
+@Component
+@Endpoint(id = "quoteproviders")
+public class QuoteProvidersEndpoint {
+
+    private final QuoteProviderRouter router;
+    private final ZenQuotesRateLimiter zenQuotesRateLimiter;
+
+    public QuoteProvidersEndpoint(QuoteProviderRouter router, ZenQuotesRateLimiter zenQuotesRateLimiter) {
+        this.router = router;
+        this.zenQuotesRateLimiter = zenQuotesRateLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> providers() {
+        Map<String, Object> stats = new LinkedHashMap<>(router.stats());
+        stats.put("zenQuotesQuota", zenQuotesRateLimiter.describe());
+        return stats;
+    }
+}
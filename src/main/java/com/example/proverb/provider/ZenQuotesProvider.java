@@ -0,0 +1,64 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.exception.QuotaExceededException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+@Order(1)
+public class ZenQuotesProvider implements QuoteProvider {
+
+    public static final String NAME = "ZenQuotes";
+    private static final String RATE_LIMIT_AUTHOR = "zenquotes.io";
+
+    private final WebClient zenQuotesClient;
+    private final ZenQuotesRateLimiter rateLimiter;
+
+    public ZenQuotesProvider(@Qualifier("zenQuotesClient") WebClient zenQuotesClient, ZenQuotesRateLimiter rateLimiter) {
+        this.zenQuotesClient = zenQuotesClient;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Mono<ExternalQuote> fetchOne() {
+        return fetch("/random", ZenQuotesRateLimiter.Priority.INTERACTIVE).flatMap(quotes -> quotes.isEmpty()
+                ? Mono.error(new IllegalStateException("Empty response from ZenQuotes"))
+                : Mono.just(quotes.get(0)));
+    }
+
+    @Override
+    public Mono<List<ExternalQuote>> fetchBatch() {
+        return fetch("/quotes", ZenQuotesRateLimiter.Priority.BACKGROUND);
+    }
+
+    private Mono<List<ExternalQuote>> fetch(String uri, ZenQuotesRateLimiter.Priority priority) {
+        return zenQuotesClient.get()
+                .uri(uri)
+                .attribute(ZenQuotesRateLimiter.PRIORITY_ATTRIBUTE, priority)
+                .retrieve()
+                .bodyToMono(ExternalQuote[].class)
+                .map(response -> {
+                    // ZenQuotes answers quota overruns with a 200 and a pseudo-quote attributed to itself.
+                    if (response.length == 1 && RATE_LIMIT_AUTHOR.equalsIgnoreCase(response[0].getAuthor())) {
+                        rateLimiter.exhausted(null);
+                        throw new QuotaExceededException("ZenQuotes quota exhausted");
+                    }
+                    return Arrays.stream(response)
+                            .filter(QuoteProvider::isUsable)
+                            .peek(quote -> quote.setSource(NAME))
+                            .toList();
+                });
+    }
+}
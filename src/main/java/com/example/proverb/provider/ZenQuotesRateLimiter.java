@@ -0,0 +1,200 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.exception.QuotaExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token bucket for the ZenQuotes per-IP quota, installed as a filter on the
+ * {@code zenQuotesClient} bean so every caller shares it. Background requests (buffer refills)
+ * leave {@code interactive-reserve} tokens for interactive ones. A 429, or the quota
+ * pseudo-quote ZenQuotes sends instead, empties the bucket until {@code Retry-After} has passed.
+ * Refused calls fail fast with {@link QuotaExceededException}, which the router treats as "skip
+ * this provider" and falls through to the next one or the local pool.
+ */
+@Component
+public class ZenQuotesRateLimiter implements ExchangeFilterFunction {
+
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    public static final String PRIORITY_ATTRIBUTE = ZenQuotesRateLimiter.class.getName() + ".priority";
+
+    private static final Logger logger = LoggerFactory.getLogger(ZenQuotesRateLimiter.class);
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final double interactiveReserve;
+    private final Duration defaultBackoff;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+
+    private final Map<Priority, Counter> used = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    private final Counter upstreamRejections;
+
+    public ZenQuotesRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.providers.zenquotes.quota.requests:5}") int requests,
+            @Value("${proverbly.providers.zenquotes.quota.period:PT30S}") Duration period,
+            @Value("${proverbly.providers.zenquotes.quota.interactive-reserve:1}") int interactiveReserve) {
+
+        if (requests <= 0 || period.isZero() || period.isNegative() || interactiveReserve < 0 || interactiveReserve >= requests) {
+            throw new IllegalArgumentException("ZenQuotes quota needs requests > 0, a positive period and 0 <= reserve < requests");
+        }
+        this.capacity = requests;
+        this.tokensPerNano = requests / (double) period.toNanos();
+        this.interactiveReserve = interactiveReserve;
+        this.defaultBackoff = period;
+        this.tokens = requests;
+        this.lastRefillNanos = System.nanoTime();
+
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            used.put(priority, Counter.builder("proverbly.providers.zenquotes.quota.used")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+            rejected.put(priority, Counter.builder("proverbly.providers.zenquotes.quota.rejected")
+                    .description("Calls refused locally because the bucket was empty")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+        this.upstreamRejections = Counter.builder("proverbly.providers.zenquotes.quota.upstream-rejections")
+                .description("429s and quota pseudo-quotes returned by ZenQuotes")
+                .register(meterRegistry);
+        Gauge.builder("proverbly.providers.zenquotes.quota.available", this, ZenQuotesRateLimiter::availableTokens)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Priority priority = request.attribute(PRIORITY_ATTRIBUTE)
+                .map(Priority.class::cast)
+                .orElse(Priority.INTERACTIVE);
+        if (!tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            return Mono.error(new QuotaExceededException("ZenQuotes quota spent — " + priority.name().toLowerCase() + " call refused"));
+        }
+        used.get(priority).increment();
+        return next.exchange(request).flatMap(response -> {
+            if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return Mono.just(response);
+            }
+            Duration retryAfter = retryAfter(response.headers().asHttpHeaders());
+            exhausted(retryAfter);
+            return response.releaseBody()
+                    .then(Mono.error(new QuotaExceededException("ZenQuotes answered 429; retry after " + retryAfter)));
+        });
+    }
+
+    /** Takes one token; background calls must leave the interactive reserve untouched. */
+    public boolean tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - blockedUntilNanos < 0) {
+                return false;
+            }
+            refill(now);
+            double required = priority == Priority.BACKGROUND ? 1 + interactiveReserve : 1;
+            if (tokens < required) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The upstream says the quota is spent: empty the bucket and hold off for {@code retryAfter}. */
+    public void exhausted(Duration retryAfter) {
+        Duration backoff = retryAfter != null ? retryAfter : defaultBackoff;
+        upstreamRejections.increment();
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            tokens = 0;
+            lastRefillNanos = now + backoff.toNanos();
+            blockedUntilNanos = now + backoff.toNanos();
+        } finally {
+            lock.unlock();
+        }
+        logger.warn("ZenQuotes quota exhausted — holding off for {}", backoff);
+    }
+
+    public double availableTokens() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (now - blockedUntilNanos < 0) {
+                return 0;
+            }
+            refill(now);
+            return tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> describe() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("availableTokens", Math.floor(availableTokens() * 100) / 100);
+        stats.put("capacity", capacity);
+        for (Priority priority : Priority.values()) {
+            String key = priority.name().toLowerCase();
+            stats.put(key + "Used", (long) used.get(priority).count());
+            stats.put(key + "Rejected", (long) rejected.get(priority).count());
+        }
+        stats.put("upstreamRejections", (long) upstreamRejections.count());
+        return stats;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = now;
+        }
+    }
+
+    private Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return defaultBackoff;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException notDate) {
+                return defaultBackoff;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.ChannelSubscription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ChannelSubscriptionRepository extends JpaRepository<ChannelSubscription, String> {
+
+    /** Keyset page of active channels, served by {@code idx_channel_subscription_active}. */
+    List<ChannelSubscription> findByActiveTrueAndChannelIdGreaterThanOrderByChannelIdAsc(String channelId, Pageable page);
+
+    long countByActiveTrue();
+}
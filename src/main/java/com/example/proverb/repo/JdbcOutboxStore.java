@@ -0,0 +1,147 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.OutboxMessage;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link OutboxStore} on MySQL 8. A claim is one short transaction: a {@code FOR UPDATE SKIP
+ * LOCKED} seek on {@code idx_outbox_message_due} picks due rows no other claimer holds, and an
+ * update stamps the lease on them before the locks are released. Sending happens outside any
+ * transaction; the lease, not a row lock, is what keeps other workers and pods off the rows.
+ */
+@Component
+public class JdbcOutboxStore implements OutboxStore {
+
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final String ENQUEUE =
+            "INSERT IGNORE INTO outbox_message (idempotency_key, channel_id, body, status, attempts, next_attempt_at, created_at) " +
+                    "VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+    private static final String SELECT_DUE =
+            "SELECT id, channel_id, body, attempts FROM outbox_message " +
+                    "WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+                    "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String RESCHEDULE =
+            "UPDATE outbox_message SET next_attempt_at = ?, attempts = attempts + ?, last_error = ?, lease_owner = NULL " +
+                    "WHERE id = ? AND lease_owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Depending on the EntityManagerFactory guarantees the schema update has already run.
+    public JdbcOutboxStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public int enqueue(List<Entry> entries, LocalDateTime now) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int[] counts = jdbcTemplate.batchUpdate(ENQUEUE, entries, entries.size(), (statement, entry) -> {
+            statement.setString(1, entry.idempotencyKey());
+            statement.setString(2, entry.channelId());
+            statement.setString(3, entry.body());
+            statement.setTimestamp(4, timestamp);
+            statement.setTimestamp(5, timestamp);
+        })[0];
+        int added = 0;
+        for (int count : counts) {
+            // INSERT IGNORE reports 0 for a key that is already there.
+            added += Math.max(0, count);
+        }
+        return added;
+    }
+
+    @Override
+    public List<Claimed> claim(String token, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<Claimed> claimed = transactionTemplate.execute(status -> {
+            List<Claimed> rows = jdbcTemplate.query(SELECT_DUE,
+                    (resultSet, row) -> new Claimed(resultSet.getLong("id"), resultSet.getString("channel_id"),
+                            resultSet.getString("body"), resultSet.getInt("attempts")),
+                    Timestamp.valueOf(now), limit);
+            if (!rows.isEmpty()) {
+                List<Object> args = new ArrayList<>(rows.size() + 2);
+                args.add(token);
+                args.add(Timestamp.valueOf(leaseUntil));
+                rows.forEach(row -> args.add(row.id()));
+                jdbcTemplate.update("UPDATE outbox_message SET lease_owner = ?, next_attempt_at = ? WHERE id IN ("
+                        + placeholders(rows.size()) + ")", args.toArray());
+            }
+            return rows;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    @Override
+    public void markDelivered(String token, List<Long> ids, LocalDateTime now) {
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(Timestamp.valueOf(now));
+            args.add(token);
+            args.addAll(chunk);
+            jdbcTemplate.update("UPDATE outbox_message SET status = 'DELIVERED', delivered_at = ?, lease_owner = NULL " +
+                    "WHERE lease_owner = ? AND id IN (" + placeholders(chunk.size()) + ")", args.toArray());
+        }
+    }
+
+    @Override
+    public void reschedule(String token, List<Retry> retries) {
+        if (retries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(RESCHEDULE, retries, retries.size(), (statement, retry) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(retry.nextAttemptAt()));
+            statement.setInt(2, retry.failed() ? 1 : 0);
+            statement.setString(3, truncate(retry.error()));
+            statement.setLong(4, retry.id());
+            statement.setString(5, token);
+        });
+    }
+
+    @Override
+    public void markDead(String token, List<Long> ids, String error) {
+        for (List<Long> chunk : chunks(ids)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 2);
+            args.add(truncate(error));
+            args.add(token);
+            args.addAll(chunk);
+            jdbcTemplate.update("UPDATE outbox_message SET status = 'DEAD', attempts = attempts + 1, last_error = ?, " +
+                    "lease_owner = NULL WHERE lease_owner = ? AND id IN (" + placeholders(chunk.size()) + ")", args.toArray());
+        }
+    }
+
+    @Override
+    public long countPending() {
+        Long pending = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_message WHERE status = 'PENDING'", Long.class);
+        return pending != null ? pending : 0;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_STATEMENT)));
+        }
+        return chunks;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= OutboxMessage.ERROR_LENGTH ? error : error.substring(0, OutboxMessage.ERROR_LENGTH);
+    }
+}
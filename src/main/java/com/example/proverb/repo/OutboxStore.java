@@ -0,0 +1,42 @@
+package com.example.proverb.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Storage for the outbound message outbox ({@code outbox_message}). Claims lease rows to one
+ * caller: rows another caller holds are skipped rather than waited on, and every state change
+ * after a claim only applies while the caller's lease {@code token} is still on the row, so a
+ * sender whose lease ran out cannot overwrite the outcome of the one that took over.
+ */
+public interface OutboxStore {
+
+    /** Adds messages whose idempotency key is new and returns how many were added. */
+    int enqueue(List<Entry> entries, LocalDateTime now);
+
+    /**
+     * Leases up to {@code limit} pending messages due at {@code now}, oldest first, to
+     * {@code token} until {@code leaseUntil}.
+     */
+    List<Claimed> claim(String token, int limit, LocalDateTime now, LocalDateTime leaseUntil);
+
+    void markDelivered(String token, List<Long> ids, LocalDateTime now);
+
+    /** Returns leased messages to pending, due at their {@link Retry#nextAttemptAt()}. */
+    void reschedule(String token, List<Retry> retries);
+
+    /** Gives up on leased messages; they stay in the table for inspection. */
+    void markDead(String token, List<Long> ids, String error);
+
+    long countPending();
+
+    record Entry(String idempotencyKey, String channelId, String body) {
+    }
+
+    record Claimed(long id, String channelId, String body, int attempts) {
+    }
+
+    /** {@code failed} counts the lease as an attempt; otherwise it was only deferred. */
+    record Retry(long id, LocalDateTime nextAttemptAt, boolean failed, String error) {
+    }
+}
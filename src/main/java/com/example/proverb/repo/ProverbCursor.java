@@ -0,0 +1,71 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only, read-only JDBC cursor over the proverb table for streaming exports. Rows are
+ * handed to the consumer as they arrive and never collected, so memory use does not depend on
+ * the table size. On MySQL a fetch size of {@link Integer#MIN_VALUE} makes Connector/J stream
+ * row by row instead of buffering the whole result.
+ */
+@Component
+public class ProverbCursor {
+
+    private static final int DEFAULT_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProverbCursor(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Streams rows with id greater than {@code after}, optionally of one language, in id order. */
+    public void forEach(String language, long after, Consumer<Proverb> consumer) {
+        String sql = "SELECT id, language, proverb, translation, meaning FROM proverb WHERE id > ?"
+                + (language != null ? " AND language_code = ?" : "")
+                + " ORDER BY id";
+        jdbcTemplate.query(connection -> prepare(connection, sql, language, after), (ResultSet rs) -> {
+            Proverb proverb = new Proverb();
+            proverb.setId(rs.getLong(1));
+            proverb.setLanguage(rs.getString(2));
+            proverb.setProverb(rs.getString(3));
+            proverb.setTranslation(rs.getString(4));
+            proverb.setMeaning(rs.getString(5));
+            consumer.accept(proverb);
+        });
+    }
+
+    /** Streams every stored content hash, for callers that need the keys but not the rows. */
+    public void forEachContentHash(Consumer<String> consumer) {
+        String sql = "SELECT content_hash FROM proverb WHERE content_hash IS NOT NULL";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize(connection));
+            return statement;
+        }, (ResultSet rs) -> consumer.accept(rs.getString(1)));
+    }
+
+    private static int fetchSize(Connection connection) throws SQLException {
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        return mysql ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE;
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, String language, long after) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize(connection));
+        statement.setLong(1, after);
+        if (language != null) {
+            statement.setString(2, Language.normalize(language));
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.Proverb;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the {@code proverb_seq} table past ids handed out by the old IDENTITY column, so
+ * databases created before the switch to pooled sequence ids keep inserting cleanly.
+ */
+@Component
+public class ProverbIdSequence {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProverbIdSequence.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory guarantees the schema update has already run.
+    public ProverbIdSequence(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        try {
+            int updated = jdbcTemplate.update(
+                    "UPDATE proverb_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + ? FROM proverb) " +
+                            "WHERE next_val <= (SELECT COALESCE(MAX(id), 0) + ? FROM proverb)",
+                    Proverb.ID_ALLOCATION_SIZE + 1, Proverb.ID_ALLOCATION_SIZE);
+            if (updated > 0) {
+                logger.info("Advanced proverb_seq past existing proverb ids");
+            }
+        } catch (Exception e) {
+            logger.warn("Could not align proverb_seq with existing ids: {}", e.getMessage());
+        }
+    }
+}
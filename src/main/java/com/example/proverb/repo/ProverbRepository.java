@@ -1,13 +1,45 @@
 package com.example.proverb.repo;
 
+import com.example.proverb.model.Language;
 import com.example.proverb.model.Proverb;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProverbRepository extends JpaRepository<Proverb,Long> {
 
-    List<Proverb>findByLanguageIgnoreCase(String language);
+    /**
+     * Migration for rows written before {@code language_code} existed; a no-op once they all have one.
+     * Mirrors {@link Language#normalize}, truncation included, so backfilled codes match written ones.
+     */
+    @Modifying
+    @Query("update Proverb p set p.languageCode = substring(lower(trim(p.language)), 1, " + Language.CODE_LENGTH + ")"
+            + " where p.languageCode is null and p.language is not null and trim(p.language) <> ''")
+    int backfillLanguageCodes();
+
+    /** Same, for {@code random_key}; RAND() is evaluated per row on both MySQL and H2. */
+    @Modifying
+    @Query(value = "UPDATE proverb SET random_key = FLOOR(RAND() * " + Proverb.RANDOM_KEY_BOUND + ")"
+            + " WHERE random_key IS NULL", nativeQuery = true)
+    int backfillRandomKeys();
+
+    @Query("select max(p.id) from Proverb p")
+    Long findMaxId();
+
+    List<Proverb> findByIdGreaterThanOrderByIdAsc(Long id, Pageable page);
+
+    List<Proverb> findByLanguageCodeAndIdGreaterThanOrderByIdAsc(String languageCode, Long id, Pageable page);
+
+    @Query("select p.contentHash from Proverb p where p.contentHash in :hashes")
+    List<String> findExistingContentHashes(@Param("hashes") Collection<String> hashes);
+
+    List<Proverb> findByContentHashIn(Collection<String> hashes);
+
+    List<Proverb> findByContentHashIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable page);
 }
@@ -0,0 +1,34 @@
+package com.example.proverb.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Index seeks into {@code proverb.random_key}. Each query reads {@code limit} consecutive entries
+ * of {@code idx_proverb_random_key} (or {@code idx_proverb_language_random_key}) starting at a
+ * key; InnoDB secondary indexes carry the primary key, so the id comes back without touching the
+ * table. The cost is the same at ten thousand rows as at ten million, unlike {@code ORDER BY RAND()}.
+ */
+@Component
+public class ProverbSampler {
+
+    private static final String ANY_LANGUAGE =
+            "SELECT id FROM proverb WHERE random_key >= ? ORDER BY random_key LIMIT ?";
+    private static final String ONE_LANGUAGE =
+            "SELECT id FROM proverb WHERE language_code = ? AND random_key >= ? ORDER BY random_key LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProverbSampler(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Ids of up to {@code limit} rows with the smallest random keys at or above {@code fromKey}. */
+    public List<Long> idsFrom(String languageCode, int fromKey, int limit) {
+        return languageCode == null
+                ? jdbcTemplate.queryForList(ANY_LANGUAGE, Long.class, fromKey, limit)
+                : jdbcTemplate.queryForList(ONE_LANGUAGE, Long.class, languageCode, fromKey, limit);
+    }
+}
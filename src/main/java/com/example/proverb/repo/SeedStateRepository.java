@@ -0,0 +1,7 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.SeedState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SeedStateRepository extends JpaRepository<SeedState, String> {
+}
@@ -0,0 +1,47 @@
+package com.example.proverb.scheduler;
+
+import com.example.proverb.model.ChannelSubscription;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The digests one broadcast hands out, composed once up front: a small pool per language plus a
+ * mixed pool for channels without a preference (or whose language has no rows). Picking a
+ * channel's message is a hash of its id salted with the date and session, so tens of thousands
+ * of channels cost one array lookup each; channels sharing a pool spread evenly over it, and a
+ * channel gets a different pick each session.
+ */
+final class BroadcastPool {
+
+    private final Map<String, String[]> byLanguage;
+    private final String[] mixed;
+    private final long salt;
+
+    BroadcastPool(Map<String, String[]> byLanguage, String[] mixed, LocalDate date, Session session) {
+        this.byLanguage = Map.copyOf(byLanguage);
+        this.mixed = mixed;
+        this.salt = mix(date.toEpochDay() * Session.values().length + session.ordinal());
+    }
+
+    boolean isEmpty() {
+        return mixed.length == 0;
+    }
+
+    String messageFor(ChannelSubscription subscription) {
+        String[] pool = subscription.getLanguageCode() == null
+                ? mixed
+                : byLanguage.getOrDefault(subscription.getLanguageCode(), mixed);
+        return pool[(int) Long.remainderUnsigned(mix(subscription.getChannelId().hashCode() ^ salt), pool.length)];
+    }
+
+    /** MurmurHash3's 64-bit finalizer. */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB53A3B9AECA3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.proverb.scheduler;
+
+import com.example.proverb.exception.ResourceNotFoundException;
+import com.example.proverb.model.ChannelSubscription;
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ChannelSubscriptionRepository;
+import com.example.proverb.repo.OutboxStore;
+import com.example.proverb.service.CatalogSnapshot;
+import com.example.proverb.service.ProverbCatalog;
+import com.example.proverb.service.ProverbReplies;
+import com.example.proverb.service.ProverbService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Queues one session's digest for every active {@link ChannelSubscription} in the outbox.
+ * Subscriptions are read in keyset pages, so memory does not grow with the number of channels;
+ * each gets a message from a {@link BroadcastPool} built once per run, keyed by channel, session
+ * and date so a re-run or catch-up adds nothing already queued. The {@code OutboxRelay} delivers.
+ */
+@Component
+public class ChannelBroadcast {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChannelBroadcast.class);
+
+    private final ChannelSubscriptionRepository channelSubscriptionRepository;
+    private final OutboxStore outboxStore;
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbService proverbService;
+    private final ProverbReplies proverbReplies;
+    private final int poolSize;
+    private final int pageSize;
+    private final Random random = new Random();
+
+    public ChannelBroadcast(
+            ChannelSubscriptionRepository channelSubscriptionRepository,
+            OutboxStore outboxStore,
+            ProverbCatalog proverbCatalog,
+            ProverbService proverbService,
+            ProverbReplies proverbReplies,
+            @Value("${proverbly.broadcast.pool-size:32}") int poolSize,
+            @Value("${proverbly.broadcast.page-size:1000}") int pageSize) {
+
+        if (poolSize <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("pool-size and page-size must be positive");
+        }
+        this.channelSubscriptionRepository = channelSubscriptionRepository;
+        this.outboxStore = outboxStore;
+        this.proverbCatalog = proverbCatalog;
+        this.proverbService = proverbService;
+        this.proverbReplies = proverbReplies;
+        this.poolSize = poolSize;
+        this.pageSize = pageSize;
+    }
+
+    /** Queues {@code session} of {@code date} and returns how many messages were new. */
+    public int enqueue(Session session, LocalDate date) {
+        long start = System.nanoTime();
+        BroadcastPool pool = pool(session, date, LocalTime.now());
+        if (pool.isEmpty()) {
+            logger.warn("[{}] No proverbs to broadcast", session);
+            return 0;
+        }
+        int channels = 0;
+        int added = 0;
+        String after = "";
+        List<ChannelSubscription> page;
+        do {
+            page = channelSubscriptionRepository.findByActiveTrueAndChannelIdGreaterThanOrderByChannelIdAsc(
+                    after, PageRequest.ofSize(pageSize));
+            List<OutboxStore.Entry> entries = new ArrayList<>(page.size());
+            for (ChannelSubscription subscription : page) {
+                entries.add(new OutboxStore.Entry(session.outboxKey(subscription.getChannelId(), date),
+                        subscription.getChannelId(), pool.messageFor(subscription)));
+            }
+            added += outboxStore.enqueue(entries, LocalDateTime.now());
+            channels += page.size();
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getChannelId();
+            }
+        } while (page.size() == pageSize);
+        logger.info("[{}] Broadcast queued for {} of {} channels in {} ms", session, added, channels,
+                (System.nanoTime() - start) / 1_000_000);
+        return added;
+    }
+
+    BroadcastPool pool(Session session, LocalDate date, LocalTime time) {
+        String clock = Session.time(time);
+        Map<String, String[]> byLanguage = new HashMap<>();
+        String[] mixed;
+        if (proverbCatalog.isResident()) {
+            CatalogSnapshot snapshot = proverbCatalog.snapshot();
+            mixed = compose(session, sample(session.candidates(snapshot.all())), clock);
+            for (String language : snapshot.languages()) {
+                byLanguage.put(language, compose(session, sample(session.candidates(snapshot.byLanguage(language))), clock));
+            }
+        } else {
+            mixed = compose(session, draw(() -> pickFromDatabase(session)), clock);
+            for (Language language : Language.values()) {
+                // getRandomByLanguage falls back to any language when one has no rows.
+                List<Proverb> drawn = draw(() -> proverbService.getRandomByLanguage(language.code())).stream()
+                        .filter(proverb -> language.code().equals(Language.normalize(proverb.getLanguage())))
+                        .toList();
+                String[] messages = compose(session, drawn, clock);
+                if (messages.length > 0) {
+                    byLanguage.put(language.code(), messages);
+                }
+            }
+        }
+        return new BroadcastPool(byLanguage, mixed, date, session);
+    }
+
+    /** Up to {@code poolSize} distinct rows. */
+    private List<Proverb> sample(List<Proverb> rows) {
+        if (rows.size() <= poolSize) {
+            return rows;
+        }
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < poolSize) {
+            picked.add(random.nextInt(rows.size()));
+        }
+        List<Proverb> sample = new ArrayList<>(poolSize);
+        picked.forEach(index -> sample.add(rows.get(index)));
+        return sample;
+    }
+
+    /** Database mode samples by repeated random reads; duplicates are dropped. */
+    private List<Proverb> draw(Supplier<Proverb> picker) {
+        Map<Long, Proverb> drawn = new HashMap<>();
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Proverb proverb = picker.get();
+                drawn.putIfAbsent(proverb.getId(), proverb);
+            }
+        } catch (ResourceNotFoundException empty) {
+            logger.warn("No proverbs available for a broadcast pool: {}", empty.getMessage());
+        }
+        return List.copyOf(drawn.values());
+    }
+
+    /** Same rule as the single-destination digest: the afternoon slot goes to a Nigerian language. */
+    private Proverb pickFromDatabase(Session session) {
+        if (session == Session.AFTERNOON) {
+            List<Language> local = Language.nigerian();
+            return proverbService.getRandomByLanguage(local.get(random.nextInt(local.size())).code());
+        }
+        return proverbService.getRandomProverb();
+    }
+
+    private String[] compose(Session session, List<Proverb> proverbs, String time) {
+        String[] messages = new String[proverbs.size()];
+        for (int i = 0; i < messages.length; i++) {
+            Proverb proverb = proverbs.get(i);
+            String body = proverbReplies.render(proverb, ProverbReplies.Style.DIGEST).text();
+            messages[i] = session.compose(proverb, body, time, Session.caption(random));
+        }
+        return messages;
+    }
+}
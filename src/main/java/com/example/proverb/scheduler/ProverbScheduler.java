@@ -1,115 +1,151 @@
 package com.example.proverb.scheduler;
 
+import com.example.proverb.model.Language;
 import com.example.proverb.model.Proverb;
-import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.service.ProverbCatalog;
+import com.example.proverb.service.ProverbReplies;
 import com.example.proverb.service.ProverbService;
+import com.example.proverb.repo.OutboxStore;
+import com.example.proverb.telex.OutboxRelay;
 import com.example.proverb.telex.TelexClient;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Random;
 
+/**
+ * Fires the three daily sessions. Each session's digests, for the default destination and for
+ * every subscribed channel, are written to the outbox first and delivered by the
+ * {@link OutboxRelay}, so a failed send is retried rather than lost. A session that should have
+ * fired within {@code catch-up-window} before startup is queued on startup; the outbox keys make
+ * that a no-op for messages already queued before the restart.
+ */
 @Component
-@RequiredArgsConstructor
 public class ProverbScheduler {
 
     private final ProverbService proverbService;
-    private final ProverbRepository proverbRepository;
-    private final TelexClient telexClient;
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbReplies proverbReplies;
+    private final ChannelBroadcast channelBroadcast;
+    private final OutboxStore outboxStore;
+    private final OutboxRelay outboxRelay;
+    private final TaskExecutor outboundExecutor;
+    private final Duration catchUpWindow;
 
     private static final Logger logger = LoggerFactory.getLogger(ProverbScheduler.class);
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
     private final Random random = new Random();
 
-    private static final String[] CAPTIONS = {
-            " Remember: Growth starts with gratitude.",
-            " Keep learning — every day is a new chapter.",
-            " Your progress may be slow, but it’s still progress.",
-            " Start your day with purpose and end it with peace.",
-            " Let wisdom guide your path, not haste.",
-            " The small steps today build the greatness of tomorrow.",
-            " Stay humble, stay hungry, and keep moving.",
-            " Light up someone’s day — kindness costs nothing.",
-            " Reflection brings clarity; patience brings peace.",
-            " Dreams don’t work unless you do."
-    };
+    public ProverbScheduler(ProverbService proverbService,
+                            ProverbCatalog proverbCatalog,
+                            ProverbReplies proverbReplies,
+                            ChannelBroadcast channelBroadcast,
+                            OutboxStore outboxStore,
+                            OutboxRelay outboxRelay,
+                            @Qualifier("outboundExecutor") TaskExecutor outboundExecutor,
+                            @Value("${proverbly.outbox.catch-up-window:PT3H}") Duration catchUpWindow) {
+        this.proverbService = proverbService;
+        this.proverbCatalog = proverbCatalog;
+        this.proverbReplies = proverbReplies;
+        this.channelBroadcast = channelBroadcast;
+        this.outboxStore = outboxStore;
+        this.outboxRelay = outboxRelay;
+        this.outboundExecutor = outboundExecutor;
+        this.catchUpWindow = catchUpWindow;
+    }
+
     @Scheduled(cron = "0 0 9 * * *")
     public void sendMorningInspiration() {
-        sendProverbMessage("MORNING");
+        runSession(Session.MORNING, LocalDate.now());
     }
 
     @Scheduled(cron = "0 0 13 * * *")
     public void sendAfternoonWisdom() {
-        sendProverbMessage("AFTERNOON");
+        runSession(Session.AFTERNOON, LocalDate.now());
     }
     @Scheduled(cron = "0 0 20 * * *")
     public void sendEveningReflection() {
-        sendProverbMessage("EVENING");
+        runSession(Session.EVENING, LocalDate.now());
     }
-    private void sendProverbMessage(String session) {
-        logger.info("{} Scheduler triggered at {}", session, LocalTime.now().format(FORMATTER));
 
-        try {
-            List<Proverb> allProverbs = proverbRepository.findAll();
-            if (allProverbs.isEmpty()) {
-                logger.warn(" No proverbs found in database.");
-                return;
-            }
-            List<Proverb> localProverbs = allProverbs.stream()
-                    .filter(p -> p.getMeaning() != null && !p.getMeaning().toLowerCase().contains("imported quote"))
-                    .toList();
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            outboundExecutor.execute(() -> catchUp(LocalDateTime.now()));
+        }
+    }
 
-            List<Proverb> globalQuotes = allProverbs.stream()
-                    .filter(p -> p.getMeaning() != null && p.getMeaning().toLowerCase().contains("imported quote"))
-                    .toList();
+    private void catchUp(LocalDateTime now) {
+        for (Session session : Session.values()) {
+            LocalDateTime due = now.toLocalDate().atTime(session.at());
+            if (!due.isAfter(now) && due.isAfter(now.minus(catchUpWindow))) {
+                logger.info("[{}] Catching up the session due at {}", session, Session.time(session.at()));
+                runSession(session, now.toLocalDate());
+            }
+        }
+    }
 
+    private void runSession(Session session, LocalDate date) {
+        logger.info("{} Scheduler triggered at {}", session, Session.time(LocalTime.now()));
+        enqueueDigest(session, date);
+        try {
+            channelBroadcast.enqueue(session, date);
+        } catch (Exception e) {
+            logger.error(" Error queueing [{}] channel broadcast: {}", session, e.getMessage(), e);
+        }
+        outboxRelay.drain();
+    }
+    private void enqueueDigest(Session session, LocalDate date) {
+        try {
             Proverb selected;
-            switch (session) {
-                case "MORNING" -> selected = globalQuotes.isEmpty() ? randomSelect(allProverbs) : randomSelect(globalQuotes);
-                case "AFTERNOON" -> selected = localProverbs.isEmpty() ? randomSelect(allProverbs) : randomSelect(localProverbs);
-                case "EVENING" -> selected = randomSelect(allProverbs);
-                default -> {
-                    logger.error(" Invalid session: {}", session);
+            if (!proverbCatalog.isResident()) {
+                selected = pickFromDatabase(session);
+            } else {
+                List<Proverb> allProverbs = proverbCatalog.snapshot().all();
+                if (allProverbs.isEmpty()) {
+                    logger.warn(" No proverbs found in database.");
                     return;
                 }
+                selected = randomSelect(session.candidates(allProverbs));
             }
-            boolean isGlobal = selected.getMeaning().toLowerCase().contains("imported quote");
-            String header = switch (session) {
-                case "MORNING" -> isGlobal ? " Morning Inspiration Quote" : " Morning Wisdom";
-                case "AFTERNOON" -> isGlobal ? "☀ Afternoon Inspiration" : " Afternoon Nigerian Proverb";
-                case "EVENING" -> isGlobal ? " Evening Global Reflection" : "🪶 Evening Local Reflection";
-                default -> " Daily Proverb";
-            };
+            String body = proverbReplies.render(selected, ProverbReplies.Style.DIGEST).text();
+            String message = session.compose(selected, body, Session.time(LocalTime.now()), Session.caption(random));
+            int added = outboxStore.enqueue(List.of(new OutboxStore.Entry(
+                    session.outboxKey(TelexClient.DEFAULT_CHANNEL, date), TelexClient.DEFAULT_CHANNEL, message)),
+                    LocalDateTime.now());
 
-            String caption = CAPTIONS[random.nextInt(CAPTIONS.length)];
-
-            String message = String.format(
-                    "%s\n\n**Language:** %s\n**Proverb:** %s\n**Meaning:** %s\n\n Time: %s\n\n%s",
-                    header,
-                    selected.getLanguage(),
-                    selected.getProverb(),
-                    selected.getMeaning(),
-                    LocalTime.now().format(FORMATTER),
-                    caption
-            );
-            boolean success = telexClient.sendMessage(message);
-
-            if (success) {
-                logger.info("[{}] Message sent successfully ({})", session, isGlobal ? "Global" : "Local");
+            if (added > 0) {
+                logger.info("[{}] Message queued ({})", session, Session.isGlobal(selected) ? "Global" : "Local");
             } else {
-                logger.warn(" [{}] Message failed to send.", session);
+                logger.info("[{}] Message for {} was already queued", session, date);
             }
-
         } catch (Exception e) {
             logger.error(" Error during [{}] message send: {}", session, e.getMessage());
         }
     }
+    /**
+     * Database mode has no resident rows to filter by kind, so the afternoon slot asks for a
+     * random Nigerian language instead and the other slots take any row.
+     */
+    private Proverb pickFromDatabase(Session session) {
+        if (session == Session.AFTERNOON) {
+            List<Language> local = Language.nigerian();
+            return proverbService.getRandomByLanguage(local.get(random.nextInt(local.size())).code());
+        }
+        return proverbService.getRandomProverb();
+    }
     private Proverb randomSelect(List<Proverb> list) {
         return list.get(random.nextInt(list.size()));
     }
@@ -0,0 +1,85 @@
+package com.example.proverb.scheduler;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.service.ContentHash;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+/** The three daily broadcast slots: which proverbs each prefers and how its digest reads. */
+public enum Session {
+
+    MORNING(LocalTime.of(9, 0), " Morning Inspiration Quote", " Morning Wisdom"),
+    AFTERNOON(LocalTime.of(13, 0), "☀ Afternoon Inspiration", " Afternoon Nigerian Proverb"),
+    EVENING(LocalTime.of(20, 0), " Evening Global Reflection", "🪶 Evening Local Reflection");
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
+
+    private static final String[] CAPTIONS = {
+            " Remember: Growth starts with gratitude.",
+            " Keep learning — every day is a new chapter.",
+            " Your progress may be slow, but it’s still progress.",
+            " Start your day with purpose and end it with peace.",
+            " Let wisdom guide your path, not haste.",
+            " The small steps today build the greatness of tomorrow.",
+            " Stay humble, stay hungry, and keep moving.",
+            " Light up someone’s day — kindness costs nothing.",
+            " Reflection brings clarity; patience brings peace.",
+            " Dreams don’t work unless you do."
+    };
+
+    private final LocalTime at;
+    private final String globalHeader;
+    private final String localHeader;
+
+    Session(LocalTime at, String globalHeader, String localHeader) {
+        this.at = at;
+        this.globalHeader = globalHeader;
+        this.localHeader = localHeader;
+    }
+
+    /** When the slot fires; keep in step with the crons in {@link ProverbScheduler}. */
+    public LocalTime at() {
+        return at;
+    }
+
+    /** One message per channel, session and day, however often the session is enqueued. */
+    public String outboxKey(String channelId, LocalDate date) {
+        return channelId + "|" + name() + "|" + date;
+    }
+
+    /** Imported quotes are tagged as such in their meaning; everything else is a local proverb. */
+    public static boolean isGlobal(Proverb proverb) {
+        return ContentHash.isImportedQuote(proverb);
+    }
+
+    /**
+     * The rows this slot draws from: imported quotes in the morning, local proverbs in the
+     * afternoon, anything in the evening, falling back to all rows when the preferred kind is absent.
+     */
+    public List<Proverb> candidates(List<Proverb> rows) {
+        List<Proverb> preferred = switch (this) {
+            case MORNING -> rows.stream().filter(Session::isGlobal).toList();
+            case AFTERNOON -> rows.stream().filter(p -> p.getMeaning() != null && !isGlobal(p)).toList();
+            case EVENING -> rows;
+        };
+        return preferred.isEmpty() ? rows : preferred;
+    }
+
+    public static String time(LocalTime time) {
+        return time.format(FORMATTER);
+    }
+
+    public static String caption(Random random) {
+        return CAPTIONS[random.nextInt(CAPTIONS.length)];
+    }
+
+    /** The full digest around a rendered {@code body}. */
+    public String compose(Proverb proverb, String body, String time, String caption) {
+        String header = isGlobal(proverb) ? globalHeader : localHeader;
+        return header + "\n\n" + body + "\n\n Time: " + time + "\n\n" + caption;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory index kept in step with the catalog version. New versions within a generation
+ * only index the rows added since the last sync; a new generation (reload, or rows inserted below
+ * the tail) rebuilds the index off to the side and swaps it in. Only one request syncs at a time;
+ * the others are served the index already built, which may briefly miss the newest rows, so only
+ * the very first build is ever waited on. The index is built when the app starts accepting
+ * traffic, i.e. once seeding is done.
+ * Indexes hold ids; matches are resolved against the snapshot, or by id in database mode.
+ *
+ * @param <I> the index type; its {@code add} must be safe against concurrent reads
+ */
+abstract class CatalogFollowingIndex<I> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogFollowingIndex.class);
+
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbCursor proverbCursor;
+    private final ProverbRepository proverbRepository;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private volatile I index;
+    private volatile long indexedVersion = -1;
+    private long indexedGeneration = -1;
+    private long lastIndexedId;
+
+    CatalogFollowingIndex(ProverbCatalog proverbCatalog, ProverbCursor proverbCursor, ProverbRepository proverbRepository) {
+        this.proverbCatalog = proverbCatalog;
+        this.proverbCursor = proverbCursor;
+        this.proverbRepository = proverbRepository;
+    }
+
+    abstract I newIndex();
+
+    abstract void add(I index, Proverb proverb);
+
+    abstract int size(I index);
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            sync();
+        }
+    }
+
+    /**
+     * The index as of the returned snapshot's version, or the last one built while another
+     * request is bringing it up to date; ids it no longer matches are dropped by {@link #resolve}.
+     */
+    Synced<I> sync() {
+        CatalogSnapshot snapshot = proverbCatalog.snapshot();
+        if (snapshot.version() == indexedVersion) {
+            return new Synced<>(snapshot, index);
+        }
+        I built = index;
+        if (built == null) {
+            syncLock.lock();
+        } else if (!syncLock.tryLock()) {
+            return new Synced<>(snapshot, built);
+        }
+        try {
+            snapshot = proverbCatalog.snapshot();
+            if (snapshot.version() == indexedVersion) {
+                return new Synced<>(snapshot, index);
+            }
+            if (snapshot.generation() != indexedGeneration) {
+                long start = System.nanoTime();
+                I rebuilt = newIndex();
+                lastIndexedId = indexRowsAfter(rebuilt, snapshot, 0);
+                index = rebuilt;
+                indexedGeneration = snapshot.generation();
+                logger.info("{} built: {} documents in {} ms", getClass().getSimpleName(),
+                        size(rebuilt), (System.nanoTime() - start) / 1_000_000);
+            } else {
+                lastIndexedId = indexRowsAfter(index, snapshot, lastIndexedId);
+            }
+            indexedVersion = snapshot.version();
+            return new Synced<>(snapshot, index);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** The proverb with this id as of {@code snapshot}, or {@code null}. */
+    Proverb find(CatalogSnapshot snapshot, long id) {
+        return proverbCatalog.isResident() ? snapshot.find(id) : proverbRepository.findById(id).orElse(null);
+    }
+
+    /** The proverbs with these ids, in the given order; ids no longer stored are dropped. */
+    List<Proverb> resolve(CatalogSnapshot snapshot, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Proverb> results = new ArrayList<>(ids.size());
+        if (proverbCatalog.isResident()) {
+            for (Long id : ids) {
+                Proverb proverb = snapshot.find(id);
+                if (proverb != null) {
+                    results.add(proverb);
+                }
+            }
+            return results;
+        }
+        Map<Long, Proverb> byId = new HashMap<>();
+        for (Proverb proverb : proverbRepository.findAllById(ids)) {
+            byId.put(proverb.getId(), proverb);
+        }
+        for (Long id : ids) {
+            Proverb proverb = byId.get(id);
+            if (proverb != null) {
+                results.add(proverb);
+            }
+        }
+        return results;
+    }
+
+    private long indexRowsAfter(I target, CatalogSnapshot snapshot, long after) {
+        long[] last = {after};
+        if (proverbCatalog.isResident()) {
+            for (Proverb proverb : snapshot.rowsAfter(after)) {
+                add(target, proverb);
+                last[0] = Math.max(last[0], proverb.getId());
+            }
+        } else {
+            // Rows committed but not yet published are left for the sync that sees them published;
+            // indexing them now would move lastIndexedId past ids that can still commit below them.
+            long tail = snapshot.tailId();
+            proverbCursor.forEach(null, after, proverb -> {
+                if (proverb.getId() <= tail) {
+                    add(target, proverb);
+                    last[0] = Math.max(last[0], proverb.getId());
+                }
+            });
+        }
+        return last[0];
+    }
+
+    record Synced<I>(CatalogSnapshot snapshot, I index) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Default selection: a no-repeat rotation over the resident catalog, per channel when there is
+ * one and per key otherwise. A pick is pure memory access once the catalog is loaded.
+ */
+@Component
+@ConditionalOnProperty(name = ProverbSelector.MODE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+public class CatalogProverbSelector implements ProverbSelector {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogProverbSelector.class);
+
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbRotation proverbRotation;
+    private final ChannelRotationCache channelRotationCache;
+
+    public CatalogProverbSelector(
+            ProverbCatalog proverbCatalog,
+            ProverbRotation proverbRotation,
+            ChannelRotationCache channelRotationCache) {
+        this.proverbCatalog = proverbCatalog;
+        this.proverbRotation = proverbRotation;
+        this.channelRotationCache = channelRotationCache;
+    }
+
+    @Override
+    public Proverb pick(String language, String channelId) {
+        CatalogSnapshot snapshot = proverbCatalog.snapshot();
+        List<Proverb> rows = language == null ? snapshot.all() : snapshot.byLanguage(language);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        String key = language == null ? "ALL" : language.toUpperCase(Locale.ROOT);
+        int ordinal = (channelId == null || channelId.isBlank())
+                ? proverbRotation.next(key, rows.size(), snapshot.generation())
+                : channelRotationCache.next(channelId, key, rows.size(), snapshot.generation());
+        Proverb selected = rows.get(ordinal);
+        logger.debug("Selected proverb ID {} for key {}. Rotation size: {}", selected.getId(), key, rows.size());
+        return selected;
+    }
+
+    @Override
+    public boolean isNonBlocking() {
+        return proverbCatalog.isLoaded();
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.model.SeedState;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.repo.SeedStateRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Incrementally applies the bundled {@code proverbs.json} to the table. The file is read with
+ * Jackson's streaming parser and applied in chunks of {@code batch-size} entries, each in its own
+ * transaction, so memory stays bounded by the chunk whatever the corpus size. Entries are keyed
+ * by {@link ContentHash#ofProverb}: new ones are inserted (JDBC-batched through the pooled id
+ * sequence), changed translations or meanings are updated, and the rest are left alone. The
+ * file's SHA-256 is kept in {@code seed_state}, so an unchanged file costs one hash pass.
+ */
+@Component
+public class CatalogSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    private final ProverbRepository proverbRepository;
+    private final SeedStateRepository seedStateRepository;
+    private final ProverbCatalog proverbCatalog;
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final String location;
+    private final int batchSize;
+
+    public CatalogSeeder(
+            ProverbRepository proverbRepository,
+            SeedStateRepository seedStateRepository,
+            ProverbCatalog proverbCatalog,
+            ResourceLoader resourceLoader,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${proverbly.seed.location:classpath:proverbs.json}") String location,
+            @Value("${proverbly.seed.batch-size:500}") int batchSize) {
+
+        this.proverbRepository = proverbRepository;
+        this.seedStateRepository = seedStateRepository;
+        this.proverbCatalog = proverbCatalog;
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.location = location;
+        this.batchSize = batchSize;
+    }
+
+    public SeedResult seed() throws IOException {
+        backfillDerivedColumns();
+        Resource resource = resourceLoader.getResource(location);
+        String checksum = checksum(resource);
+        SeedState state = seedStateRepository.findById(location).orElse(null);
+        if (state != null && checksum.equals(state.getChecksum())) {
+            logger.info("Seed file {} unchanged since {}. Skipping seeding.", location, state.getSeededAt());
+            proverbCatalog.snapshot();
+            return SeedResult.NONE;
+        }
+
+        int backfilled = backfillContentHashes();
+        SeedResult result = apply(resource);
+        seedStateRepository.save(new SeedState(location, checksum, result.entries(), LocalDateTime.now()));
+
+        if (result.inserted() > 0 || result.updated() > 0 || backfilled > 0) {
+            proverbCatalog.reload();
+        } else {
+            proverbCatalog.snapshot();
+        }
+        logger.info("Seeded {} from {} entries: {} inserted, {} updated, {} unchanged ({} stored rows given content hashes)",
+                location, result.entries(), result.inserted(), result.updated(), result.unchanged(), backfilled);
+        return result;
+    }
+
+    private SeedResult apply(Resource resource) throws IOException {
+        SeedResult total = SeedResult.NONE;
+        try (InputStream in = resource.getInputStream();
+             JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Seed file " + location + " must contain a JSON array");
+            }
+            Map<String, Proverb> chunk = new LinkedHashMap<>();
+            long entries = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                Proverb entry = objectMapper.readValue(parser, Proverb.class);
+                entries++;
+                if (isBlank(entry.getLanguage()) || isBlank(entry.getProverb())) {
+                    continue;
+                }
+                entry.setContentHash(ContentHash.ofProverb(entry.getLanguage(), entry.getProverb()));
+                chunk.put(entry.getContentHash(), entry);
+                if (chunk.size() >= batchSize) {
+                    total = total.plus(upsert(chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                total = total.plus(upsert(chunk));
+            }
+            return total.withEntries(entries);
+        }
+    }
+
+    /** One transaction per chunk: rows already stored under the same hash are updated in place. */
+    private SeedResult upsert(Map<String, Proverb> chunk) {
+        return transactionTemplate.execute(status -> {
+            Map<String, Proverb> pending = new LinkedHashMap<>(chunk);
+            int updated = 0;
+            int unchanged = 0;
+            for (Proverb stored : proverbRepository.findByContentHashIn(chunk.keySet())) {
+                Proverb entry = pending.remove(stored.getContentHash());
+                if (entry == null) {
+                    continue;
+                }
+                if (Objects.equals(stored.getTranslation(), entry.getTranslation())
+                        && Objects.equals(stored.getMeaning(), entry.getMeaning())) {
+                    unchanged++;
+                } else {
+                    // Managed entity: the change is flushed as a batched UPDATE at commit.
+                    stored.setTranslation(entry.getTranslation());
+                    stored.setMeaning(entry.getMeaning());
+                    updated++;
+                }
+            }
+            if (!pending.isEmpty()) {
+                proverbRepository.saveAll(pending.values());
+            }
+            return new SeedResult(0, pending.size(), updated, unchanged);
+        });
+    }
+
+    /**
+     * Rows stored before content hashes existed get one, keyset-paged so only a page is held at a
+     * time. Where several legacy rows share a hash (the seed file used to be inserted with its
+     * duplicates), only the first gets it; the unique constraint keeps the rest at {@code null}.
+     */
+    private int backfillContentHashes() {
+        int backfilled = 0;
+        long after = 0;
+        while (true) {
+            long cursor = after;
+            long[] page = transactionTemplate.execute(status -> {
+                List<Proverb> rows = proverbRepository.findByContentHashIsNullAndIdGreaterThanOrderByIdAsc(
+                        cursor, PageRequest.of(0, batchSize));
+                if (rows.isEmpty()) {
+                    return null;
+                }
+                Map<String, Proverb> byHash = new LinkedHashMap<>();
+                for (Proverb row : rows) {
+                    String hash = ContentHash.ofStoredRow(row);
+                    if (hash != null) {
+                        byHash.putIfAbsent(hash, row);
+                    }
+                }
+                Set<String> taken = byHash.isEmpty()
+                        ? Set.of()
+                        : new HashSet<>(proverbRepository.findExistingContentHashes(byHash.keySet()));
+                int assigned = 0;
+                for (Map.Entry<String, Proverb> candidate : byHash.entrySet()) {
+                    if (!taken.contains(candidate.getKey())) {
+                        candidate.getValue().setContentHash(candidate.getKey());
+                        assigned++;
+                    }
+                }
+                return new long[] {assigned, rows.get(rows.size() - 1).getId()};
+            });
+            if (page == null) {
+                return backfilled;
+            }
+            backfilled += (int) page[0];
+            after = page[1];
+        }
+    }
+
+    /**
+     * Runs whether or not the file changed: rows from before {@code language_code} and
+     * {@code random_key} existed need them either way.
+     */
+    private void backfillDerivedColumns() {
+        Integer languageCodes = transactionTemplate.execute(status -> proverbRepository.backfillLanguageCodes());
+        Integer randomKeys = transactionTemplate.execute(status -> proverbRepository.backfillRandomKeys());
+        if (languageCodes != null && languageCodes > 0 || randomKeys != null && randomKeys > 0) {
+            logger.info("Backfilled {} language codes and {} random keys on stored rows", languageCodes, randomKeys);
+        }
+    }
+
+    private static String checksum(Resource resource) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /** Counts from one seeding run; {@code entries} includes duplicates and skipped blanks. */
+    public record SeedResult(long entries, int inserted, int updated, int unchanged) {
+
+        static final SeedResult NONE = new SeedResult(0, 0, 0, 0);
+
+        SeedResult plus(SeedResult other) {
+            return new SeedResult(entries + other.entries, inserted + other.inserted,
+                    updated + other.updated, unchanged + other.unchanged);
+        }
+
+        SeedResult withEntries(long entries) {
+            return new SeedResult(entries, inserted, updated, unchanged);
+        }
+    }
+}
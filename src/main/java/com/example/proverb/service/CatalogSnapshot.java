@@ -0,0 +1,227 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Immutable, read-optimized view of the proverb table. Rows are kept sorted by id and
+ * partitioned by normalized language so random and list reads are plain index lookups.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<Proverb> BY_ID =
+            Comparator.comparing(Proverb::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Versions restart at 1 with the process, so tags carry the boot time to stay unique.
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final long version;
+    private final long generation;
+    private final long tailId;
+    private final Instant modifiedAt;
+    private final List<Proverb> all;
+    private final Map<String, List<Proverb>> byLanguage;
+
+    private CatalogSnapshot(long version, long generation, long tailId, List<Proverb> all,
+                            Map<String, List<Proverb>> byLanguage) {
+        this.version = version;
+        this.generation = generation;
+        this.tailId = tailId;
+        // HTTP dates have second precision; truncating keeps If-Modified-Since comparisons exact.
+        this.modifiedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        this.all = all;
+        this.byLanguage = byLanguage;
+    }
+
+    static CatalogSnapshot of(Collection<Proverb> rows, long version, long generation) {
+        List<Proverb> sorted = new ArrayList<>(rows);
+        sorted.sort(BY_ID);
+        return new CatalogSnapshot(version, generation, maxId(sorted, 0), List.copyOf(sorted), partition(sorted));
+    }
+
+    /** A snapshot holding no rows that only tracks the highest stored id, for non-resident catalogs. */
+    static CatalogSnapshot tracking(long tailId, long version, long generation) {
+        return new CatalogSnapshot(version, generation, tailId, List.of(), Map.of());
+    }
+
+    /**
+     * Returns a new snapshot containing this one plus {@code added}, skipping rows whose id is
+     * already present. Returns {@code this} when nothing new was added. Rows that sort before the
+     * current tail shift existing ordinals, so the generation is bumped in that case.
+     */
+    CatalogSnapshot append(Collection<Proverb> added) {
+        List<Proverb> fresh = new ArrayList<>(added.size());
+        for (Proverb proverb : added) {
+            if (proverb != null && proverb.getId() != null && !contains(proverb.getId())) {
+                fresh.add(proverb);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return this;
+        }
+        fresh.sort(BY_ID);
+        boolean ordinalsStable = all.isEmpty() || BY_ID.compare(fresh.get(0), all.get(all.size() - 1)) > 0;
+
+        List<Proverb> merged = new ArrayList<>(all.size() + fresh.size());
+        merged.addAll(all);
+        merged.addAll(fresh);
+        if (!ordinalsStable) {
+            merged.sort(BY_ID);
+        }
+        long nextGeneration = ordinalsStable ? generation : generation + 1;
+        return new CatalogSnapshot(version + 1, nextGeneration, maxId(fresh, tailId),
+                List.copyOf(merged), partition(merged));
+    }
+
+    /**
+     * Same rows under the next version, for catalogs that track changes but hold no rows.
+     * Sequence ids handed out from pools can commit out of order, so a saved id at or below the
+     * current tail bumps the generation just as {@link #append} does.
+     */
+    CatalogSnapshot bump(Collection<Proverb> saved) {
+        long nextTail = maxId(saved, tailId);
+        boolean belowTail = false;
+        for (Proverb proverb : saved) {
+            if (proverb != null && proverb.getId() != null && proverb.getId() <= tailId) {
+                belowTail = true;
+                break;
+            }
+        }
+        return new CatalogSnapshot(version + 1, belowTail ? generation + 1 : generation, nextTail, all, byLanguage);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /** Strong entity tag for anything rendered from this snapshot. */
+    public String etag() {
+        return "\"" + EPOCH + '-' + version + "\"";
+    }
+
+    public Instant modifiedAt() {
+        return modifiedAt;
+    }
+
+    /**
+     * Changes whenever the position of an existing row may have shifted. Within one generation
+     * the catalog only grows at the tail, so positions handed out earlier stay valid.
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /** The highest id published to this snapshot; rows above it are not part of it yet. */
+    public long tailId() {
+        return tailId;
+    }
+
+    public List<Proverb> all() {
+        return all;
+    }
+
+    public List<Proverb> byLanguage(String language) {
+        return byLanguage.getOrDefault(normalizeLanguage(language), List.of());
+    }
+
+    /** Keyset page: up to {@code limit} rows with id greater than {@code after}, in id order. */
+    public ProverbPage page(String language, long after, int limit) {
+        List<Proverb> rows = language == null ? all : byLanguage(language);
+        int from = firstAfter(rows, after);
+        int to = Math.min(rows.size(), from + limit);
+        List<Proverb> items = rows.subList(from, to);
+        Long next = to < rows.size() && !items.isEmpty() ? items.get(items.size() - 1).getId() : null;
+        return new ProverbPage(items, next);
+    }
+
+    public Set<String> languages() {
+        return byLanguage.keySet();
+    }
+
+    public boolean isEmpty() {
+        return all.isEmpty();
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public boolean contains(long id) {
+        return indexOf(id) >= 0;
+    }
+
+    /** The row with this id, or {@code null}. */
+    public Proverb find(long id) {
+        int index = indexOf(id);
+        return index >= 0 ? all.get(index) : null;
+    }
+
+    /** Every row with id greater than {@code after}, in id order. */
+    public List<Proverb> rowsAfter(long after) {
+        return all.subList(firstAfter(all, after), all.size());
+    }
+
+    private int indexOf(long id) {
+        int low = 0;
+        int high = all.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Long midId = all.get(mid).getId();
+            if (midId == null || midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstAfter(List<Proverb> rows, long after) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Long midId = rows.get(mid).getId();
+            if (midId == null || midId <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long maxId(Collection<Proverb> rows, long floor) {
+        long max = floor;
+        for (Proverb proverb : rows) {
+            if (proverb != null && proverb.getId() != null) {
+                max = Math.max(max, proverb.getId());
+            }
+        }
+        return max;
+    }
+
+    public static String normalizeLanguage(String language) {
+        String code = Language.normalize(language);
+        return code == null ? "" : code;
+    }
+
+    private static Map<String, List<Proverb>> partition(List<Proverb> sorted) {
+        Map<String, List<Proverb>> buckets = new HashMap<>();
+        for (Proverb proverb : sorted) {
+            String key = normalizeLanguage(proverb.getLanguage());
+            if (!key.isEmpty()) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(proverb);
+            }
+        }
+        Map<String, List<Proverb>> frozen = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, list) -> frozen.put(key, List.copyOf(list)));
+        return Map.copyOf(frozen);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.proverb.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-channel no-repeat state. Each channel/language pair tracks shown ordinals in a bitset,
+ * and the whole cache is bounded by size and idle time (Caffeine's W-TinyLFU eviction), so heap
+ * use stays predictable however many channels are active.
+ */
+@Component
+public class ChannelRotationCache {
+
+    private final Cache<String, ChannelRotation> rotations;
+
+    public ChannelRotationCache(
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.rotation.channels.max-size:50000}") long maxSize,
+            @Value("${proverbly.rotation.channels.expire-after-access:PT12H}") Duration expireAfterAccess) {
+
+        this.rotations = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rotations, "proverbly.rotation.channels");
+    }
+
+    public int next(String channelId, String key, int size, long generation) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Rotation size must be positive");
+        }
+        return rotations.get(channelId + '|' + key, k -> new ChannelRotation()).next(size, generation);
+    }
+
+    public long estimatedSize() {
+        return rotations.estimatedSize();
+    }
+
+    static final class ChannelRotation {
+
+        // A lock rather than synchronized, so a virtual thread never pins its carrier here.
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] shown = new long[0];
+        private int shownCount;
+        private int size;
+        private long generation = -1;
+
+        int next(int size, long generation) {
+            lock.lock();
+            try {
+                return nextLocked(size, generation);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int nextLocked(int size, long generation) {
+            if (generation != this.generation || size < this.size) {
+                shown = new long[words(size)];
+                shownCount = 0;
+                this.generation = generation;
+            } else if (size > this.size && words(size) > shown.length) {
+                long[] grown = new long[words(size)];
+                System.arraycopy(shown, 0, grown, 0, shown.length);
+                shown = grown;
+            }
+            this.size = size;
+
+            if (shownCount >= size) {
+                Arrays.fill(shown, 0L);
+                shownCount = 0;
+            }
+
+            int ordinal = nthClearBit(ThreadLocalRandom.current().nextInt(size - shownCount));
+            shown[ordinal >>> 6] |= 1L << ordinal;
+            shownCount++;
+            return ordinal;
+        }
+
+        /** Uniform pick among unshown ordinals: skip whole words by popcount, then scan one word. */
+        private int nthClearBit(int n) {
+            for (int word = 0; word < shown.length; word++) {
+                int base = word << 6;
+                int bitsInWord = Math.min(64, size - base);
+                int clear = bitsInWord - Long.bitCount(shown[word]);
+                if (n >= clear) {
+                    n -= clear;
+                    continue;
+                }
+                long free = ~shown[word];
+                for (int skip = 0; skip < n; skip++) {
+                    free &= free - 1;
+                }
+                return base + Long.numberOfTrailingZeros(free);
+            }
+            throw new IllegalStateException("No unshown ordinal left");
+        }
+
+        private static int words(int size) {
+            return (size + 63) >>> 6;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.ChannelSubscription;
+import com.example.proverb.model.Language;
+import com.example.proverb.repo.ChannelSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/** Which channels receive the scheduled broadcasts, and in which language. */
+@Service
+@RequiredArgsConstructor
+public class ChannelSubscriptions {
+
+    private final ChannelSubscriptionRepository channelSubscriptionRepository;
+
+    /** Subscribes (or re-subscribes) a channel; a {@code null} language means the session's default mix. */
+    public ChannelSubscription subscribe(String channelId, String language) {
+        requireChannel(channelId);
+        ChannelSubscription subscription = channelSubscriptionRepository.findById(channelId)
+                .orElseGet(() -> new ChannelSubscription(channelId, null, false, LocalDateTime.now()));
+        subscription.setLanguageCode(Language.normalize(language));
+        subscription.setActive(true);
+        return channelSubscriptionRepository.save(subscription);
+    }
+
+    /** Stops broadcasts to a channel; {@code false} when it was not subscribed. */
+    public boolean unsubscribe(String channelId) {
+        requireChannel(channelId);
+        return channelSubscriptionRepository.findById(channelId)
+                .filter(ChannelSubscription::isActive)
+                .map(subscription -> {
+                    subscription.setActive(false);
+                    channelSubscriptionRepository.save(subscription);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    private static void requireChannel(String channelId) {
+        if (channelId == null || channelId.isBlank()) {
+            throw new IllegalArgumentException("A channel id is required to manage subscriptions");
+        }
+        if (channelId.length() > ChannelSubscription.CHANNEL_ID_LENGTH) {
+            throw new IllegalArgumentException("Channel id is longer than " + ChannelSubscription.CHANNEL_ID_LENGTH + " characters");
+        }
+    }
+}
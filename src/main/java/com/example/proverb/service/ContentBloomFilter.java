@@ -0,0 +1,50 @@
+package com.example.proverb.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over {@link ContentHash} values. The hashes are already uniform, so
+ * the probe positions come straight from their first 128 bits (Kirsch–Mitzenmacher).
+ */
+final class ContentBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    ContentBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    boolean mightContain(String contentHash) {
+        long h1 = Long.parseUnsignedLong(contentHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(contentHash, 16, 32, 16);
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns {@code true} if any bit changed, i.e. the hash was definitely not present before. */
+    boolean put(String contentHash) {
+        long h1 = Long.parseUnsignedLong(contentHash, 0, 16, 16);
+        long h2 = Long.parseUnsignedLong(contentHash, 16, 32, 16);
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long previous = bits.getAndUpdate(word, value -> value | mask);
+            changed |= (previous & mask) == 0;
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * SHA-256 over normalized text, used as the dedup key in {@code proverb.content_hash}.
+ * Case, Unicode form, surrounding quotes and whitespace runs do not change the hash.
+ */
+public final class ContentHash {
+
+    private static final String QUOTE_PREFIX = "quote:";
+    private static final String PROVERB_PREFIX = "proverb:";
+
+    private ContentHash() {
+    }
+
+    public static String ofQuote(String text) {
+        return sha256(QUOTE_PREFIX + normalize(text));
+    }
+
+    /** Seeded proverbs are keyed by language and wording; translation and meaning may change. */
+    public static String ofProverb(String language, String proverb) {
+        return sha256(PROVERB_PREFIX + normalize(language) + '|' + normalize(proverb));
+    }
+
+    /**
+     * The hash a row stored before {@code content_hash} existed should carry, or {@code null}.
+     * Quotes as in {@link #ofStoredQuote}; everything else with a language is a seeded proverb.
+     */
+    public static String ofStoredRow(Proverb row) {
+        String quoteHash = ofStoredQuote(row);
+        if (quoteHash != null) {
+            return quoteHash;
+        }
+        if (row.getLanguage() != null && row.getProverb() != null) {
+            return ofProverb(row.getLanguage(), row.getProverb());
+        }
+        return null;
+    }
+
+    /**
+     * The quote hash of a row stored before {@code content_hash} existed, or {@code null} if it is
+     * not a quote. API quotes keep their text in {@code text}, posted ones in {@code proverb}.
+     */
+    public static String ofStoredQuote(Proverb row) {
+        if (row.getText() != null) {
+            return ofQuote(row.getText());
+        }
+        if (isImportedQuote(row)) {
+            return ofQuote(row.getProverb());
+        }
+        return null;
+    }
+
+    /** Posted quotes are marked in {@code meaning} with an "Imported quote from ..." attribution. */
+    public static boolean isImportedQuote(Proverb row) {
+        return row.getMeaning() != null && row.getMeaning().toLowerCase(Locale.ROOT).contains("imported quote");
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .trim();
+        return normalized.replaceAll("^[\\p{Punct}“”‘’\\s]+|[\\p{Punct}“”‘’\\s]+$", "");
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,106 +2,89 @@ package com.example.proverb.service;
 
 import com.example.proverb.dto.ExternalQuote;
 import com.example.proverb.model.Proverb;
-import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.provider.OfflineQuoteProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Service
 public class ExternalQuoteService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExternalQuoteService.class);
-    private static final String ZEN_QUOTES_ENDPOINT = "random";
 
-    private final WebClient zenQuotesClient;
-    private final WebClient offlineWebClient;
-    private final ProverbRepository proverbRepository;
+    private final QuotePrefetchBuffer quotePrefetchBuffer;
+    private final OfflineQuoteProvider offlineQuoteProvider;
+    private final QuoteWriteBehind quoteWriteBehind;
+    private final QuoteDeduplicator quoteDeduplicator;
 
     public ExternalQuoteService(
-            @Qualifier("zenQuotesClient") WebClient zenQuotesClient,
-            @Qualifier("offlineWebClient") WebClient offlineWebClient,
-            ProverbRepository proverbRepository) {
-
-        this.zenQuotesClient = zenQuotesClient;
-        this.offlineWebClient = offlineWebClient;
-        this.proverbRepository = proverbRepository;
+            QuotePrefetchBuffer quotePrefetchBuffer,
+            OfflineQuoteProvider offlineQuoteProvider,
+            QuoteWriteBehind quoteWriteBehind,
+            QuoteDeduplicator quoteDeduplicator) {
+
+        this.quotePrefetchBuffer = quotePrefetchBuffer;
+        this.offlineQuoteProvider = offlineQuoteProvider;
+        this.quoteWriteBehind = quoteWriteBehind;
+        this.quoteDeduplicator = quoteDeduplicator;
     }
 
     public ExternalQuote fetchRandomExternalQuote() {
-        try {
-            Map<?, ?>[] rawResponse = zenQuotesClient.get()
-                    .uri(ZEN_QUOTES_ENDPOINT)
-                    .retrieve()
-                    .bodyToMono(Map[].class)
-                    .block();
-
-            if (rawResponse != null && rawResponse.length > 0) {
-                Map<?, ?> q = rawResponse[0];
-                ExternalQuote quote = new ExternalQuote();
-                quote.setContent((String) q.get("q"));
-                quote.setAuthor((String) q.get("a"));
-
-                logger.info("[ZenQuotes] \"{}\" — {}", quote.getContent(), quote.getAuthor());
-                saveQuoteAsProverb(quote, "ZenQuotes");
-                return quote;
-            } else {
-                throw new RuntimeException("Empty response from ZenQuotes");
-            }
-
-        } catch (Exception ex) {
-            logger.warn("ZenQuotes API failed: {} — trying offline source...", ex.getMessage());
-            try {
-                String jsonResponse = offlineWebClient.get()
-                        .uri("/random")
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-                String cleaned = jsonResponse
-                        .replace("{", "")
-                        .replace("}", "")
-                        .replace("\"", "")
-                        .replace("quote:", "")
-                        .replace("author:", "")
-                        .replace("h:null", "")
-                        .replace(",", "")
-                        .trim();
-
-                ExternalQuote local = new ExternalQuote();
-                local.setContent(cleaned);
-                local.setAuthor("Local Wisdom");
-
-                saveQuoteAsProverb(local, "Offline");
-                return local;
+        return fetchRandomQuote().block();
+    }
 
-            } catch (Exception fallbackEx) {
-                logger.error("Offline fallback failed: {}", fallbackEx.getMessage());
-                ExternalQuote backup = new ExternalQuote();
-                backup.setContent("Even when APIs fail, persistence wins the day.");
-                backup.setAuthor("AI Agent");
+    /**
+     * Non-blocking variant: buffered quotes complete immediately; during a burst that drains the
+     * buffer, callers share the refill already in flight, and only fall back to the offline
+     * source if it cannot serve them in time.
+     */
+    public Mono<ExternalQuote> fetchRandomQuote() {
+        return quotePrefetchBuffer.next()
+                .doOnNext(quote -> {
+                    String source = quote.getSource() != null ? quote.getSource() : "ZenQuotes";
+                    logger.info("[{}] \"{}\" — {}", source, quote.getContent(), quote.getAuthor());
+                    saveQuoteAsProverb(quote, source);
+                })
+                .switchIfEmpty(Mono.defer(this::fetchOfflineQuote));
+    }
 
-                saveQuoteAsProverb(backup, "Fallback");
-                return backup;
-            }
-        }
+    private Mono<ExternalQuote> fetchOfflineQuote() {
+        logger.warn("Quote buffer empty — serving offline source while it refills");
+        return offlineQuoteProvider.fetchOne()
+                .doOnNext(local -> saveQuoteAsProverb(local, "Offline"))
+                .onErrorResume(fallbackEx -> {
+                    logger.error("Offline fallback failed: {}", fallbackEx.getMessage());
+                    ExternalQuote backup = new ExternalQuote();
+                    backup.setContent("Even when APIs fail, persistence wins the day.");
+                    backup.setAuthor("AI Agent");
+
+                    saveQuoteAsProverb(backup, "Fallback");
+                    return Mono.just(backup);
+                });
     }
 
     private void saveQuoteAsProverb(ExternalQuote quote, String source) {
         try {
+            String contentHash = ContentHash.ofQuote(quote.getContent());
+            if (!quoteDeduplicator.admit(contentHash)) {
+                logger.debug("Skipping already stored quote from {} — \"{}\"", source, quote.getContent());
+                return;
+            }
             Proverb proverb = new Proverb();
+            proverb.setContentHash(contentHash);
             proverb.setText(quote.getContent());
             proverb.setAuthor(quote.getAuthor());
             proverb.setCategory(source + " Quote");
             proverb.setCreatedAt(LocalDateTime.now());
 
-            proverbRepository.save(proverb);
-            logger.info("Saved new proverb from {} — \"{}\"", source, quote.getContent());
+            if (quoteWriteBehind.enqueue(proverb)) {
+                logger.debug("Queued new proverb from {} — \"{}\"", source, quote.getContent());
+            }
         } catch (Exception e) {
-            logger.error("Failed to save proverb from {}: {}", source, e.getMessage());
+            logger.error("Failed to queue proverb from {}: {}", source, e.getMessage());
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.proverb.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * The id of the proverb each channel was shown last, so follow-ups such as "more like this" know
+ * what "this" is. Bounded like the channel rotation cache.
+ */
+@Component
+public class LastServedProverbs {
+
+    private final Cache<String, Long> lastServed;
+
+    public LastServedProverbs(
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.rotation.channels.max-size:50000}") long maxSize,
+            @Value("${proverbly.rotation.channels.expire-after-access:PT12H}") Duration expireAfterAccess) {
+
+        this.lastServed = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lastServed, "proverbly.channels.last-served");
+    }
+
+    public void record(String channelId, Long proverbId) {
+        if (channelId != null && !channelId.isBlank() && proverbId != null) {
+            lastServed.put(channelId, proverbId);
+        }
+    }
+
+    public Long lastServed(String channelId) {
+        return channelId == null || channelId.isBlank() ? null : lastServed.getIfPresent(channelId);
+    }
+}
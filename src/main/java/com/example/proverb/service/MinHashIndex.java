@@ -0,0 +1,316 @@
+package com.example.proverb.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Near-duplicate lookup by MinHash with banded locality-sensitive hashing. Each document's text is
+ * folded by {@link SearchTokenizer} and cut into character 4-gram shingles per term, which
+ * tolerates inflection ("patient" / "patience") better than whole words. A signature keeps the
+ * low 16 bits of {@code hashes} minima, so the index costs {@code 2 * hashes} bytes per document;
+ * signatures are split into {@code bands} of {@code hashes / bands} rows, and documents whose
+ * signatures agree on a whole band land in the same bucket. Buckets live in one open-addressing
+ * table chained through a flat {@code next} array, so there is no per-entry boxing.
+ *
+ * <p>A query looks up its own bands, then ranks the bucket-mates by the fraction of signature
+ * positions they share, an estimate of the Jaccard similarity of their shingle sets. The default
+ * 64 hashes in 32 bands of 2 suit short texts, where two meanings saying the same thing share
+ * only 0.3 - 0.5 of their shingles: a pair at 0.4 becomes a candidate with probability 0.996, at
+ * 0.2 with 0.73, and an unrelated pair at 0.05 with under 0.08.
+ */
+public final class MinHashIndex {
+
+    public static final int DEFAULT_HASHES = 64;
+    public static final int DEFAULT_BANDS = 32;
+
+    private static final int SHINGLE = 4;
+    private static final int EMPTY = -1;
+
+    private static final ThreadLocal<Seen> SEEN = ThreadLocal.withInitial(Seen::new);
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[256];
+    private String[] languages = new String[256];
+    private char[] signatures;
+    private int[] next;
+    private int size;
+
+    // Bucket table: (band, band hash) key -> newest document slot, chained through `next`.
+    private long[] bucketKeys = new long[1024];
+    private int[] bucketHeads = new int[1024];
+    private int buckets;
+
+    public MinHashIndex() {
+        this(DEFAULT_HASHES, DEFAULT_BANDS);
+    }
+
+    public MinHashIndex(int hashes, int bands) {
+        if (hashes <= 0 || bands <= 0 || hashes % bands != 0) {
+            throw new IllegalArgumentException("hashes must be a positive multiple of bands");
+        }
+        this.hashes = hashes;
+        this.bands = bands;
+        this.rows = hashes / bands;
+        this.seeds = new long[hashes];
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < hashes; i++) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            seeds[i] = seed;
+        }
+        this.signatures = new char[ids.length * hashes];
+        this.next = new int[ids.length * bands];
+        Arrays.fill(bucketHeads, EMPTY);
+    }
+
+    /** Indexes one document; returns {@code false} (and skips it) when it has no shingles. */
+    public boolean add(long id, String languageCode, String... fields) {
+        char[] signature = signature(fields);
+        if (signature == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                languages = Arrays.copyOf(languages, capacity);
+                signatures = Arrays.copyOf(signatures, capacity * hashes);
+                next = Arrays.copyOf(next, capacity * bands);
+            }
+            int doc = size;
+            ids[doc] = id;
+            languages[doc] = languageCode;
+            System.arraycopy(signature, 0, signatures, doc * hashes, hashes);
+            for (int band = 0; band < bands; band++) {
+                long key = bandKey(signature, 0, band);
+                int slot = slot(key);
+                if (bucketHeads[slot] == EMPTY) {
+                    bucketKeys[slot] = key;
+                    buckets++;
+                }
+                next[doc * bands + band] = bucketHeads[slot];
+                bucketHeads[slot] = doc;
+                if (buckets * 2 > bucketKeys.length) {
+                    rehash();
+                }
+            }
+            size++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} documents most similar to the indexed document {@code id}, best first,
+     * at or above {@code minSimilarity}. With {@code otherLanguages} only documents in a
+     * different language than the query's are returned.
+     */
+    public List<Match> similar(long id, int limit, double minSimilarity, boolean otherLanguages) {
+        lock.readLock().lock();
+        try {
+            int query = docOf(id);
+            if (query < 0 || limit <= 0) {
+                return List.of();
+            }
+            String language = languages[query];
+            int queryOffset = query * hashes;
+            Seen seen = SEEN.get().next(size);
+            List<Match> matches = new ArrayList<>();
+            for (int band = 0; band < bands; band++) {
+                int slot = find(bandKey(signatures, queryOffset, band));
+                if (slot < 0) {
+                    continue;
+                }
+                for (int doc = bucketHeads[slot]; doc != EMPTY; doc = next[doc * bands + band]) {
+                    if (doc == query || !seen.add(doc)) {
+                        continue;
+                    }
+                    if (otherLanguages && language != null && language.equals(languages[doc])) {
+                        continue;
+                    }
+                    double similarity = agreement(queryOffset, doc * hashes);
+                    if (similarity >= minSimilarity) {
+                        matches.add(new Match(ids[doc], similarity));
+                    }
+                }
+            }
+            matches.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+            return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Estimated Jaccard similarity of two indexed documents, or -1 if either is unknown. */
+    public double similarity(long a, long b) {
+        lock.readLock().lock();
+        try {
+            int first = docOf(a);
+            int second = docOf(b);
+            return first < 0 || second < 0 ? -1 : agreement(first * hashes, second * hashes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Match(long id, double similarity) {
+    }
+
+    /** Per-thread "already a candidate" marks; bumping the stamp clears them all at once. */
+    private static final class Seen {
+
+        int[] marks = new int[0];
+        int stamp;
+
+        Seen next(int documents) {
+            if (marks.length < documents) {
+                marks = new int[Math.max(documents, marks.length * 2)];
+                stamp = 0;
+            }
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                stamp = 1;
+            }
+            return this;
+        }
+
+        boolean add(int doc) {
+            if (marks[doc] == stamp) {
+                return false;
+            }
+            marks[doc] = stamp;
+            return true;
+        }
+    }
+
+    private char[] signature(String... fields) {
+        int[] minima = new int[hashes];
+        Arrays.fill(minima, Integer.MAX_VALUE);
+        boolean any = false;
+        for (String field : fields) {
+            for (String term : SearchTokenizer.tokenize(field)) {
+                String padded = ' ' + term + ' ';
+                int last = Math.max(0, padded.length() - SHINGLE);
+                for (int start = 0; start <= last; start++) {
+                    long shingle = fnv(padded, start, Math.min(padded.length(), start + SHINGLE));
+                    for (int i = 0; i < hashes; i++) {
+                        int value = (int) (mix(shingle ^ seeds[i]) >>> 33);
+                        if (value < minima[i]) {
+                            minima[i] = value;
+                        }
+                    }
+                    any = true;
+                }
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        char[] signature = new char[hashes];
+        for (int i = 0; i < hashes; i++) {
+            signature[i] = (char) minima[i];
+        }
+        return signature;
+    }
+
+    private double agreement(int offsetA, int offsetB) {
+        int equal = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (signatures[offsetA + i] == signatures[offsetB + i]) {
+                equal++;
+            }
+        }
+        return equal / (double) hashes;
+    }
+
+    private long bandKey(char[] signature, int offset, int band) {
+        long key = band;
+        int from = offset + band * rows;
+        for (int i = 0; i < rows; i++) {
+            key = key * 0x100000001B3L + signature[from + i];
+        }
+        return mix(key);
+    }
+
+    private int docOf(long id) {
+        // Ids arrive in ascending order within a generation, so binary search applies.
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] < id) {
+                low = mid + 1;
+            } else if (ids[mid] > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        int mask = bucketKeys.length - 1;
+        int slot = (int) key & mask;
+        while (bucketHeads[slot] != EMPTY && bucketKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int find(long key) {
+        int slot = slot(key);
+        return bucketHeads[slot] == EMPTY ? -1 : slot;
+    }
+
+    private void rehash() {
+        long[] oldKeys = bucketKeys;
+        int[] oldHeads = bucketHeads;
+        bucketKeys = new long[oldKeys.length * 2];
+        bucketHeads = new int[oldHeads.length * 2];
+        Arrays.fill(bucketHeads, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                bucketKeys[slot] = oldKeys[i];
+                bucketHeads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    private static long fnv(String text, int from, int to) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /** MurmurHash3's 64-bit finalizer. */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB53A3B9AECA3L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link CatalogSnapshot}. The table is read once and then kept in sync by
+ * publishing every saved row, so reads never go back to the database. With
+ * {@code proverbly.selection.mode=database} the catalog is not resident: snapshots hold no rows
+ * and only carry the version that ETags and listing caches key on, bumped by every publish, plus
+ * the highest published id so followers know which stored rows the snapshot covers.
+ */
+@Component
+public class ProverbCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProverbCatalog.class);
+
+    private final ProverbRepository proverbRepository;
+    private final boolean resident;
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    public ProverbCatalog(
+            ProverbRepository proverbRepository,
+            @Value("${" + ProverbSelector.MODE_PROPERTY + ":memory}") ProverbSelector.Mode mode) {
+        this.proverbRepository = proverbRepository;
+        this.resident = mode == ProverbSelector.Mode.MEMORY;
+    }
+
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        loadLock.lock();
+        try {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return current.get() != null;
+    }
+
+    /** Whether snapshots hold the table's rows; {@code false} in database selection mode. */
+    public boolean isResident() {
+        return resident;
+    }
+
+    public long version() {
+        return snapshot().version();
+    }
+
+    /** Re-reads the whole table, e.g. after seeding or bulk imports. */
+    public CatalogSnapshot reload() {
+        loadLock.lock();
+        try {
+            return load();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void publish(Proverb saved) {
+        publishAll(List.of(saved));
+    }
+
+    public void publishAll(Collection<Proverb> saved) {
+        if (saved.isEmpty()) {
+            return;
+        }
+        while (true) {
+            CatalogSnapshot before = snapshot();
+            CatalogSnapshot after = resident ? before.append(saved) : before.bump(saved);
+            if (after == before || current.compareAndSet(before, after)) {
+                return;
+            }
+        }
+    }
+
+    private CatalogSnapshot load() {
+        CatalogSnapshot previous = current.get();
+        long version = previous == null ? 1 : previous.version() + 1;
+        long generation = previous == null ? 1 : previous.generation() + 1;
+
+        CatalogSnapshot snapshot = resident
+                ? CatalogSnapshot.of(proverbRepository.findAll(Sort.by("id")), version, generation)
+                : CatalogSnapshot.tracking(maxStoredId(), version, generation);
+        current.set(snapshot);
+        if (resident) {
+            logger.info("Proverb catalog loaded: {} rows, {} languages (version {})",
+                    snapshot.size(), snapshot.languages().size(), version);
+        }
+        return snapshot;
+    }
+
+    private long maxStoredId() {
+        Long max = proverbRepository.findMaxId();
+        return max == null ? 0 : max;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.proverb.service;
+
+import com.example.proverb.dto.ProverbResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Listing pages serialized once per catalog version. The key includes the version, so a
+ * publish never has to invalidate anything: older entries simply stop being asked for and age
+ * out of the bounded cache.
+ */
+@Component
+public class ProverbListingCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Listing> listings;
+
+    public ProverbListingCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.listing.cache.max-entries:256}") long maxEntries) {
+        this.objectMapper = objectMapper;
+        this.listings = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "proverbly.listing");
+    }
+
+    /** The page for {@code snapshot}'s version, rendering it from {@code loader} on a miss. */
+    public Listing listing(CatalogSnapshot snapshot, String language, long after, int limit, Supplier<ProverbPage> loader) {
+        ProverbService.checkPageSize(limit);
+        String key = snapshot.version() + "|" + CatalogSnapshot.normalizeLanguage(language) + '|' + after + '|' + limit;
+        return listings.get(key, k -> render(loader.get()));
+    }
+
+    private Listing render(ProverbPage page) {
+        List<ProverbResponse> body = page.items().stream().map(ProverbResponse::of).toList();
+        try {
+            return new Listing(objectMapper.writeValueAsBytes(body), page.nextCursor());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** A page as ready-to-send JSON bytes. */
+    public record Listing(byte[] json, Long nextCursor) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+
+import java.util.List;
+
+/** One keyset page; {@code nextCursor} is the last id on the page, or {@code null} on the last page. */
+public record ProverbPage(List<Proverb> items, Long nextCursor) {
+}
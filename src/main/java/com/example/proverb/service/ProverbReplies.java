@@ -0,0 +1,104 @@
+package com.example.proverb.service;
+
+import com.example.proverb.dto.TelexReply;
+import com.example.proverb.model.Proverb;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Proverb reply texts, and their encoded {@link TelexReply} JSON, rendered once per proverb and
+ * style. Renderings are kept per catalog generation rather than version: rows never change
+ * within a generation, so a publish keeps every rendering, while a reload (which may carry
+ * edited rows) starts a fresh map. The map is capped rather than evicting, since an evicting
+ * cache's bookkeeping on every read showed up in the tail latency; past the cap (only reachable
+ * in database mode) replies are rendered per request as before.
+ */
+@Component
+public class ProverbReplies {
+
+    /** The ways a proverb is shown; each renders one text, and a reply where one is sent as-is. */
+    public enum Style {
+        CHAT("🪶 %s Proverb:\n\n%s\n\nMeaning:\n%s", TelexReply::inChannel),
+        SIMILAR("🔗 A %s proverb in the same spirit:\n\n%s\n\nMeaning:\n%s", TelexReply::inChannel),
+        INSPIRATION("🪶 Nigerian Proverb (%s):\n\n%s\n\nMeaning:\n%s", text -> TelexReply.inspiration("proverb", text, null)),
+        /** The scheduled broadcast's body; its header, time and caption change per send. */
+        DIGEST("**Language:** %s\n**Proverb:** %s\n**Meaning:** %s", null);
+
+        private static final Style[] VALUES = values();
+
+        private final String format;
+        private final Function<String, TelexReply> reply;
+
+        Style(String format, Function<String, TelexReply> reply) {
+            this.format = format;
+            this.reply = reply;
+        }
+
+        Rendered render(Proverb proverb) {
+            String text = String.format(format, proverb.getLanguage(), proverb.getProverb(), proverb.getMeaning());
+            return new Rendered(text, reply != null ? reply.apply(text).encode() : null);
+        }
+    }
+
+    /** A rendered text and, for styles sent as a whole reply, that reply pre-encoded. */
+    public record Rendered(String text, TelexReply reply) {
+    }
+
+    private final ProverbCatalog proverbCatalog;
+    private final int maxEntries;
+    private volatile Generation current = new Generation(-1);
+
+    public ProverbReplies(
+            ProverbCatalog proverbCatalog,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.replies.cache.max-entries:20000}") int maxEntries) {
+        this.proverbCatalog = proverbCatalog;
+        this.maxEntries = maxEntries;
+        Gauge.builder("proverbly.replies.size", this, replies -> replies.current.rendered.size())
+                .description("Proverbs with cached reply renderings")
+                .register(meterRegistry);
+    }
+
+    public Rendered render(Proverb proverb, Style style) {
+        Rendered[] styles = proverb.getId() != null ? stylesOf(proverb.getId()) : null;
+        if (styles == null) {
+            return style.render(proverb);
+        }
+        Rendered result = styles[style.ordinal()];
+        if (result == null) {
+            // Racing renders produce equal values; whichever lands last is kept.
+            result = style.render(proverb);
+            styles[style.ordinal()] = result;
+        }
+        return result;
+    }
+
+    private Rendered[] stylesOf(long id) {
+        long generation = proverbCatalog.snapshot().generation();
+        Generation renderings = current;
+        if (renderings.generation != generation) {
+            renderings = new Generation(generation);
+            current = renderings;
+        }
+        Rendered[] styles = renderings.rendered.get(id);
+        if (styles == null && renderings.rendered.size() < maxEntries) {
+            styles = renderings.rendered.computeIfAbsent(id, key -> new Rendered[Style.VALUES.length]);
+        }
+        return styles;
+    }
+
+    private static final class Generation {
+
+        final long generation;
+        final ConcurrentHashMap<Long, Rendered[]> rendered = new ConcurrentHashMap<>();
+
+        Generation(long generation) {
+            this.generation = generation;
+        }
+    }
+}
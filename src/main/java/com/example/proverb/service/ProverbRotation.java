@@ -0,0 +1,122 @@
+package com.example.proverb.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * No-repeat rotation over catalog ordinals. Each key owns a shuffled deck consumed through an
+ * atomic cursor, so a draw is a single {@code getAndIncrement} and every ordinal is handed out
+ * exactly once per cycle, no matter how many threads are drawing.
+ */
+@Component
+public class ProverbRotation {
+
+    /** Cursor value that marks a deck as being replaced; draws that land past it retry. */
+    private static final int CLOSED = Integer.MAX_VALUE / 2;
+
+    private final ConcurrentHashMap<String, AtomicReference<Deck>> decks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the next ordinal in {@code [0, size)} for {@code key}. {@code generation} must change
+     * whenever ordinals below the previous size stop referring to the same items.
+     */
+    public int next(String key, int size, long generation) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Rotation size must be positive");
+        }
+        AtomicReference<Deck> ref = decks.computeIfAbsent(key, k -> new AtomicReference<>());
+
+        while (true) {
+            Deck deck = ref.get();
+            if (deck == null) {
+                ref.compareAndSet(null, Deck.shuffled(size, generation));
+                continue;
+            }
+            if (deck.generation != generation || deck.universe > size) {
+                if (deck.close() >= 0) {
+                    ref.compareAndSet(deck, Deck.shuffled(size, generation));
+                }
+                continue;
+            }
+            if (deck.universe < size) {
+                int taken = deck.close();
+                if (taken >= 0) {
+                    ref.compareAndSet(deck, deck.extend(taken, size));
+                }
+                continue;
+            }
+
+            int position = deck.cursor.getAndIncrement();
+            if (position < deck.order.length) {
+                return deck.order[position];
+            }
+            if (position >= CLOSED) {
+                Thread.onSpinWait();
+            } else {
+                ref.compareAndSet(deck, Deck.shuffled(size, generation));
+            }
+        }
+    }
+
+    public void forget(String key) {
+        decks.remove(key);
+    }
+
+    private static final class Deck {
+
+        final int[] order;
+        final int universe;
+        final long generation;
+        final AtomicInteger cursor = new AtomicInteger();
+
+        private Deck(int[] order, int universe, long generation) {
+            this.order = order;
+            this.universe = universe;
+            this.generation = generation;
+        }
+
+        static Deck shuffled(int size, long generation) {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            shuffle(order, 0, size);
+            return new Deck(order, size, generation);
+        }
+
+        /**
+         * Stops further draws and returns how many cards were handed out, or -1 if another
+         * thread already closed this deck.
+         */
+        int close() {
+            int position = cursor.getAndSet(CLOSED);
+            return position >= CLOSED ? -1 : Math.min(position, order.length);
+        }
+
+        /** Continues the current cycle: undrawn cards plus the ordinals added since. */
+        Deck extend(int taken, int size) {
+            int remaining = order.length - taken;
+            int[] next = new int[remaining + size - universe];
+            System.arraycopy(order, taken, next, 0, remaining);
+            for (int ordinal = universe, i = remaining; ordinal < size; ordinal++, i++) {
+                next[i] = ordinal;
+            }
+            shuffle(next, 0, next.length);
+            return new Deck(next, size, generation);
+        }
+
+        private static void shuffle(int[] values, int from, int to) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = to - 1; i > from; i--) {
+                int j = from + random.nextInt(i - from + 1);
+                int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+        }
+    }
+}
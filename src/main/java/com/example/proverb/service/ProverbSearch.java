@@ -0,0 +1,50 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Full-text search over proverb, translation and meaning, backed by a {@link SearchIndex}. */
+@Component
+public class ProverbSearch extends CatalogFollowingIndex<SearchIndex> {
+
+    public static final int MAX_RESULTS = 100;
+
+    public ProverbSearch(ProverbCatalog proverbCatalog, ProverbCursor proverbCursor, ProverbRepository proverbRepository) {
+        super(proverbCatalog, proverbCursor, proverbRepository);
+    }
+
+    public List<Proverb> search(String query, String language, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RESULTS);
+        }
+        Synced<SearchIndex> synced = sync();
+        List<Long> ids = synced.index().search(query, Language.normalize(language), limit).stream()
+                .map(SearchIndex.Hit::id)
+                .toList();
+        return resolve(synced.snapshot(), ids);
+    }
+
+    @Override
+    SearchIndex newIndex() {
+        return new SearchIndex();
+    }
+
+    @Override
+    void add(SearchIndex index, Proverb proverb) {
+        index.add(proverb.getId(), Language.normalize(proverb.getLanguage()),
+                proverb.getProverb(), proverb.getTranslation(), proverb.getMeaning(), proverb.getText());
+    }
+
+    @Override
+    int size(SearchIndex index) {
+        return index.size();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+
+/**
+ * Picks the proverb for a random read. Which implementation runs is chosen by
+ * {@code proverbly.selection.mode}: {@code memory} draws from the resident {@link CatalogSnapshot},
+ * {@code database} samples the table through an index and keeps no catalog rows on the heap.
+ */
+public interface ProverbSelector {
+
+    String MODE_PROPERTY = "proverbly.selection.mode";
+
+    enum Mode { MEMORY, DATABASE }
+
+    /**
+     * A random proverb in {@code language} (any language when {@code null}) not shown recently on
+     * {@code channelId}, or {@code null} if there is none in that language.
+     */
+    Proverb pick(String language, String channelId);
+
+    /** Whether {@link #pick} only touches memory, so callers may run it on a request thread. */
+    boolean isNonBlocking();
+}
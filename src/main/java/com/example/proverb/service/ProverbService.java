@@ -1,15 +1,22 @@
 package com.example.proverb.service;
 
 import com.example.proverb.exception.ResourceNotFoundException;
+import com.example.proverb.model.Language;
 import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
 import com.example.proverb.repo.ProverbRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -18,72 +25,142 @@ public class ProverbService {
     private static final Logger logger = LoggerFactory.getLogger(ProverbService.class);
 
     private final ProverbRepository proverbRepository;
-    private final Random random = new Random();
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbSelector proverbSelector;
+    private final ProverbSearch proverbSearch;
+    private final ProverbSimilarity proverbSimilarity;
+    private final LastServedProverbs lastServedProverbs;
+    private final ProverbCursor proverbCursor;
 
-    private final Map<String, Set<Long>> shownProverbsMap = new HashMap<>();
+    public static final int MAX_PAGE_SIZE = 1000;
 
     private static final List<String> SUPPORTED_LANGUAGES =
-            List.of("yoruba", "igbo", "hausa", "efik", "ibibio", "english");
+            Arrays.stream(Language.values()).map(Language::code).toList();
 
     public Proverb getRandomProverb() {
-        List<Proverb> all = proverbRepository.findAll();
-        if (all.isEmpty()) {
+        return getRandomProverb(null);
+    }
+    public Proverb getRandomProverb(String channelId) {
+        Proverb selected = proverbSelector.pick(null, channelId);
+        if (selected == null) {
             throw new ResourceNotFoundException("No proverbs available yet! Please add some first.");
         }
-        return getUniqueProverb("ALL", all);
+        lastServedProverbs.record(channelId, selected.getId());
+        return selected;
     }
     public Proverb getRandomByLanguage(String language) {
+        return getRandomByLanguage(language, null);
+    }
+    public Proverb getRandomByLanguage(String language, String channelId) {
         try {
-            List<Proverb> list = proverbRepository.findByLanguageIgnoreCase(language);
-            if (list.isEmpty()) {
+            Proverb selected = proverbSelector.pick(language, channelId);
+            if (selected == null) {
                 logger.warn("No proverbs found for language: {}, falling back to random", language);
-                return getRandomProverb();
+                return getRandomProverb(channelId);
             }
-            return getUniqueProverb(language.toUpperCase(), list);
+            lastServedProverbs.record(channelId, selected.getId());
+            return selected;
         } catch (Exception e) {
             logger.error("Error fetching {} proverb: {}", language, e.getMessage());
-            return getRandomProverb();
+            return getRandomProverb(channelId);
         }
     }
+    /**
+     * Reactive entry point for request handlers. Once the catalog is resident the pick is pure
+     * memory access; the initial table load, and every pick in database mode, is shifted onto
+     * the bounded elastic scheduler.
+     */
+    public Mono<Proverb> randomProverb(String language, String channelId) {
+        Mono<Proverb> pick = Mono.fromCallable(() -> language != null
+                ? getRandomByLanguage(language, channelId)
+                : getRandomProverb(channelId));
+        return proverbSelector.isNonBlocking() ? pick : pick.subscribeOn(Schedulers.boundedElastic());
+    }
     public List<Proverb> getAll() {
-        List<Proverb> all = proverbRepository.findAll();
+        List<Proverb> all = proverbCatalog.snapshot().all();
         if (all.isEmpty()) {
             throw new ResourceNotFoundException("No proverbs found in the database.");
         }
         return all;
     }
+    public ProverbPage page(String language, long after, int limit) {
+        return page(proverbCatalog.snapshot(), language, after, limit);
+    }
+    /** Keyset page from the snapshot when the catalog is resident, from the id index otherwise. */
+    public ProverbPage page(CatalogSnapshot snapshot, String language, long after, int limit) {
+        checkPageSize(limit);
+        if (proverbCatalog.isResident()) {
+            return snapshot.page(language, after, limit);
+        }
+        String code = Language.normalize(language);
+        // One extra row tells whether another page follows.
+        PageRequest window = PageRequest.of(0, limit + 1);
+        List<Proverb> rows = code == null
+                ? proverbRepository.findByIdGreaterThanOrderByIdAsc(after, window)
+                : proverbRepository.findByLanguageCodeAndIdGreaterThanOrderByIdAsc(code, after, window);
+        if (rows.size() <= limit) {
+            return new ProverbPage(rows, null);
+        }
+        List<Proverb> items = rows.subList(0, limit);
+        return new ProverbPage(List.copyOf(items), items.get(limit - 1).getId());
+    }
+    /** The current catalog; its version and tag change on every insert, whichever path made it. */
+    public CatalogSnapshot catalogSnapshot() {
+        return proverbCatalog.snapshot();
+    }
+    static void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+    /** Ranked full-text matches over proverb, translation and meaning. */
+    public List<Proverb> search(String query, String language, int limit) {
+        return proverbSearch.search(query, language, limit);
+    }
+    /** Closest proverbs by meaning; {@code otherLanguages} keeps only other languages than its own. */
+    public List<Proverb> similar(long id, int limit, boolean otherLanguages) {
+        return proverbSimilarity.similar(id, limit, otherLanguages);
+    }
+    /**
+     * The closest proverb in another language to the one {@code channelId} was shown last, which
+     * then becomes the last shown, so follow-ups chain. Empty when the channel has no history or
+     * nothing is close enough.
+     */
+    public Optional<Proverb> similarToLastServed(String channelId) {
+        Long last = lastServedProverbs.lastServed(channelId);
+        if (last == null) {
+            return Optional.empty();
+        }
+        Optional<Proverb> next = proverbSimilarity.similar(last, 1, true).stream().findFirst();
+        next.ifPresent(proverb -> lastServedProverbs.record(channelId, proverb.getId()));
+        return next;
+    }
+    /** Notes a proverb shown on {@code channelId} through a path other than the random picks. */
+    public void recordServed(String channelId, Proverb proverb) {
+        lastServedProverbs.record(channelId, proverb.getId());
+    }
+    /** Hands every row after {@code after} to {@code consumer} straight off a database cursor. */
+    public void streamAll(String language, long after, Consumer<Proverb> consumer) {
+        proverbCursor.forEach(language, after, consumer);
+    }
     public Proverb add(Proverb proverb) {
         if (proverb.getLanguage() == null || proverb.getProverb() == null) {
             throw new IllegalArgumentException("Language and proverb text cannot be null");
         }
-        if (SUPPORTED_LANGUAGES.stream().noneMatch(lang -> lang.equalsIgnoreCase(proverb.getLanguage()))) {
+        if (Language.fromName(proverb.getLanguage()).isEmpty()) {
             throw new IllegalArgumentException("Unsupported language. Supported: " + SUPPORTED_LANGUAGES);
         }
-        return proverbRepository.save(proverb);
+        Proverb saved = proverbRepository.save(proverb);
+        proverbCatalog.publish(saved);
+        return saved;
+    }
+    public Proverb saveImported(Proverb proverb) {
+        Proverb saved = proverbRepository.save(proverb);
+        proverbCatalog.publish(saved);
+        return saved;
     }
     @Deprecated
     public Proverb getRandomProverbAcrossLanguages() {
         return getRandomProverb();
     }
-    private Proverb getUniqueProverb(String key, List<Proverb> list) {
-        shownProverbsMap.putIfAbsent(key, new HashSet<>());
-        Set<Long> shownIds = shownProverbsMap.get(key);
-
-        if (shownIds.size() >= list.size()) {
-            logger.debug("Resetting shown proverbs list for key: {}", key);
-            shownIds.clear();
-        }
-
-        List<Proverb> available = list.stream()
-                .filter(p -> !shownIds.contains(p.getId()))
-                .collect(Collectors.toList());
-
-        if (available.isEmpty()) available = list;
-
-        Proverb selected = available.get(random.nextInt(available.size()));
-        shownIds.add(selected.getId());
-        logger.debug("Selected proverb ID {} for key {}. Available count: {}", selected.getId(), key, available.size());
-
-        return selected;
-    }
 }
\ No newline at end of file
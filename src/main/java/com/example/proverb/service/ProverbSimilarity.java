@@ -0,0 +1,66 @@
+package com.example.proverb.service;
+
+import com.example.proverb.exception.ResourceNotFoundException;
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * "More like this" over meanings and translations, backed by a {@link MinHashIndex}. The proverb
+ * text itself is left out: it is in a different language for every row, while meanings are all
+ * English, which is what lets a Yoruba proverb find an Igbo one that says the same thing.
+ */
+@Component
+public class ProverbSimilarity extends CatalogFollowingIndex<MinHashIndex> {
+
+    public static final int MAX_RESULTS = 20;
+
+    private static final String NO_TRANSLATION = "N/A";
+
+    private final double minSimilarity;
+
+    public ProverbSimilarity(
+            ProverbCatalog proverbCatalog,
+            ProverbCursor proverbCursor,
+            ProverbRepository proverbRepository,
+            @Value("${proverbly.similar.min-similarity:0.2}") double minSimilarity) {
+        super(proverbCatalog, proverbCursor, proverbRepository);
+        this.minSimilarity = minSimilarity;
+    }
+
+    /** Closest proverbs to {@code id}, best first; {@code otherLanguages} skips its own language. */
+    public List<Proverb> similar(long id, int limit, boolean otherLanguages) {
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RESULTS);
+        }
+        Synced<MinHashIndex> synced = sync();
+        if (find(synced.snapshot(), id) == null) {
+            throw new ResourceNotFoundException("No proverb with id " + id);
+        }
+        List<Long> ids = synced.index().similar(id, limit, minSimilarity, otherLanguages).stream()
+                .map(MinHashIndex.Match::id)
+                .toList();
+        return resolve(synced.snapshot(), ids);
+    }
+
+    @Override
+    MinHashIndex newIndex() {
+        return new MinHashIndex();
+    }
+
+    @Override
+    void add(MinHashIndex index, Proverb proverb) {
+        String translation = NO_TRANSLATION.equalsIgnoreCase(proverb.getTranslation()) ? null : proverb.getTranslation();
+        index.add(proverb.getId(), Language.normalize(proverb.getLanguage()), proverb.getMeaning(), translation);
+    }
+
+    @Override
+    int size(MinHashIndex index) {
+        return index.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rejects quotes that are already stored before they reach the write-behind queue. A Bloom
+ * filter seeded from the catalog answers "definitely new" without a database round-trip; a
+ * "maybe stored" is confirmed against {@code content_hash} before the quote is skipped, so a
+ * false positive costs a query rather than a lost quote. Hashes join the filter only once their
+ * row is saved ({@link #recordStored}): a quote dropped on the way to the database stays
+ * admissible. The unique index on {@code content_hash} catches whatever slips through.
+ */
+@Component
+public class QuoteDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteDeduplicator.class);
+
+    private final ProverbCatalog proverbCatalog;
+    private final ProverbCursor proverbCursor;
+    private final ProverbRepository proverbRepository;
+    private final ContentBloomFilter filter;
+
+    private final Counter checked;
+    private final Counter duplicates;
+
+    public QuoteDeduplicator(
+            ProverbCatalog proverbCatalog,
+            ProverbCursor proverbCursor,
+            ProverbRepository proverbRepository,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.quotes.dedup.expected-entries:200000}") long expectedEntries,
+            @Value("${proverbly.quotes.dedup.false-positive-rate:0.001}") double falsePositiveRate) {
+
+        this.proverbCatalog = proverbCatalog;
+        this.proverbCursor = proverbCursor;
+        this.proverbRepository = proverbRepository;
+        this.filter = new ContentBloomFilter(expectedEntries, falsePositiveRate);
+        this.checked = meterRegistry.counter("proverbly.quotes.dedup.checked");
+        this.duplicates = meterRegistry.counter("proverbly.quotes.dedup.duplicates");
+        meterRegistry.gauge("proverbly.quotes.dedup.ratio", this, QuoteDeduplicator::duplicateRatio);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!proverbCatalog.isResident()) {
+            // No rows on the heap to walk; stream the hashes instead.
+            int[] streamed = {0};
+            proverbCursor.forEachContentHash(hash -> {
+                filter.put(hash);
+                streamed[0]++;
+            });
+            logger.info("Quote dedup filter seeded with {} hashes", streamed[0]);
+            return;
+        }
+        int seeded = 0;
+        for (Proverb proverb : proverbCatalog.snapshot().all()) {
+            String hash = proverb.getContentHash() != null ? proverb.getContentHash() : ContentHash.ofStoredQuote(proverb);
+            if (hash != null) {
+                filter.put(hash);
+                seeded++;
+            }
+        }
+        logger.info("Quote dedup filter seeded with {} hashes", seeded);
+    }
+
+    /**
+     * Returns {@code true} if the quote should be stored. Only checks: the caller reports the
+     * hash through {@link #recordStored} once the row is actually saved.
+     */
+    public boolean admit(String contentHash) {
+        checked.increment();
+        if (!filter.mightContain(contentHash) || !isStored(contentHash)) {
+            return true;
+        }
+        duplicates.increment();
+        return false;
+    }
+
+    /** Hashes of rows now in the database; later quotes with these hashes are skipped. */
+    public void recordStored(Collection<String> contentHashes) {
+        for (String contentHash : contentHashes) {
+            if (contentHash != null) {
+                filter.put(contentHash);
+            }
+        }
+    }
+
+    public void recordStored(String contentHash) {
+        recordStored(List.of(contentHash));
+    }
+
+    /** Duplicates that passed the filter but were found by the database during the upsert. */
+    public void recordLateDuplicates(int count) {
+        duplicates.increment(count);
+    }
+
+    private boolean isStored(String contentHash) {
+        try {
+            return !proverbRepository.findExistingContentHashes(List.of(contentHash)).isEmpty();
+        } catch (Exception e) {
+            // Let the unique index decide rather than skip a quote we could not check.
+            logger.debug("Could not confirm stored hash {}: {}", contentHash, e.getMessage());
+            return false;
+        }
+    }
+
+    public double duplicateRatio() {
+        double total = checked.count();
+        return total == 0 ? 0.0 : duplicates.count() / total;
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.proverb.service;
+
+import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.provider.QuoteProviderRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded buffer of quotes pulled in bulk (50 per call) by a background refiller, from whichever
+ * provider the router currently prefers. Request threads only ever {@link #poll()} it, so they
+ * never wait on the network.
+ *
+ * <p>{@link #next()} adds single-flight semantics for underruns: callers that find the buffer
+ * empty park on the refill already in flight (there is only ever one) and are each handed a
+ * distinct quote from its batch, so a burst costs one upstream call per 50 callers rather than
+ * one per caller. Waiters that are not served within {@code max-wait} complete empty and, like
+ * cancelled ones, leave the queue right away, so the waiters gauge counts only live callers.
+ */
+@Component
+public class QuotePrefetchBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotePrefetchBuffer.class);
+
+    private final QuoteProviderRouter quoteProviderRouter;
+    private final ArrayBlockingQueue<ExternalQuote> buffer;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final Executor refillExecutor;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Duration maxWait;
+
+    private final Timer refillTimer;
+    private final Counter underruns;
+    private final Counter refillFailures;
+    private final Counter coalesced;
+    private final Counter waitsExpired;
+
+    public QuotePrefetchBuffer(
+            QuoteProviderRouter quoteProviderRouter,
+            @Qualifier("outboundExecutor") Executor refillExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.quotes.buffer.capacity:200}") int capacity,
+            @Value("${proverbly.quotes.buffer.low-watermark:50}") int lowWatermark,
+            @Value("${proverbly.quotes.buffer.high-watermark:150}") int highWatermark,
+            @Value("${proverbly.quotes.buffer.max-wait:PT1S}") Duration maxWait) {
+
+        if (lowWatermark < 0 || lowWatermark > highWatermark || highWatermark > capacity) {
+            throw new IllegalArgumentException("Quote buffer watermarks must satisfy 0 <= low <= high <= capacity");
+        }
+        this.quoteProviderRouter = quoteProviderRouter;
+        this.refillExecutor = refillExecutor;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.maxWait = maxWait;
+
+        meterRegistry.gauge("proverbly.quotes.buffer.depth", buffer, ArrayBlockingQueue::size);
+        this.refillTimer = Timer.builder("proverbly.quotes.buffer.refill")
+                .description("Time spent fetching one bulk batch from the upstream provider")
+                .register(meterRegistry);
+        this.underruns = Counter.builder("proverbly.quotes.buffer.underruns")
+                .description("Polls that found the buffer empty")
+                .register(meterRegistry);
+        this.refillFailures = Counter.builder("proverbly.quotes.buffer.refill.failures")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("proverbly.quotes.buffer.coalesced")
+                .description("Underrun callers that joined the in-flight refill instead of fetching on their own")
+                .register(meterRegistry);
+        this.waitsExpired = Counter.builder("proverbly.quotes.buffer.wait.expired")
+                .description("Coalesced callers not served within max-wait")
+                .register(meterRegistry);
+        meterRegistry.gauge("proverbly.quotes.buffer.waiters", waiters, ConcurrentLinkedQueue::size);
+    }
+
+    /** Takes a buffered quote without blocking, or returns {@code null} if the buffer is empty. */
+    public ExternalQuote poll() {
+        ExternalQuote quote = buffer.poll();
+        if (quote == null) {
+            underruns.increment();
+        }
+        if (buffer.size() < lowWatermark) {
+            requestRefill();
+        }
+        return quote;
+    }
+
+    /**
+     * A buffered quote, or on underrun a distinct quote from the refill in flight. Completes
+     * empty if the refill fails or takes longer than {@code max-wait}.
+     */
+    public Mono<ExternalQuote> next() {
+        ExternalQuote quote = poll();
+        if (quote != null) {
+            return Mono.just(quote);
+        }
+        Waiter waiter = new Waiter();
+        waiters.offer(waiter);
+        coalesced.increment();
+        requestRefill();
+
+        // A refill may have finished between our poll and joining the queue.
+        ExternalQuote late = buffer.poll();
+        if (late != null) {
+            if (waiter.deliver(late)) {
+                waiters.remove(waiter);
+            } else {
+                buffer.offer(late);
+            }
+        }
+        return waiter.sink.asMono()
+                .timeout(maxWait, Mono.defer(() -> {
+                    if (waiter.expire()) {
+                        waiters.remove(waiter);
+                        waitsExpired.increment();
+                        return Mono.empty();
+                    }
+                    return waiter.sink.asMono();
+                }))
+                .doOnCancel(() -> {
+                    if (waiter.expire()) {
+                        waiters.remove(waiter);
+                    }
+                });
+    }
+
+    public int depth() {
+        return buffer.size();
+    }
+
+    public void requestRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            try {
+                refillExecutor.execute(this::refill);
+            } catch (RuntimeException e) {
+                refilling.set(false);
+                logger.warn("Could not schedule quote refill: {}", e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        requestRefill();
+    }
+
+    @Scheduled(fixedDelayString = "${proverbly.quotes.buffer.refill-interval:PT30S}")
+    public void topUp() {
+        if (buffer.size() < lowWatermark) {
+            requestRefill();
+        }
+    }
+
+    void refill() {
+        try {
+            while (buffer.size() < highWatermark) {
+                List<ExternalQuote> batch = fetchBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int handed = 0;
+                int added = 0;
+                for (ExternalQuote quote : batch) {
+                    if (handOff(quote)) {
+                        handed++;
+                    } else if (buffer.offer(quote)) {
+                        added++;
+                    } else {
+                        break;
+                    }
+                }
+                logger.debug("Quote buffer refilled: {} quotes to waiting callers, {} buffered (depth {})",
+                        handed, added, buffer.size());
+            }
+        } catch (Exception e) {
+            refillFailures.increment();
+            logger.warn("Quote buffer refill failed: {}", e.getMessage());
+            releaseWaiters();
+            return;
+        } finally {
+            refilling.set(false);
+        }
+        if (!waiters.isEmpty()) {
+            // Callers who joined after the last batch was handed out.
+            requestRefill();
+        }
+    }
+
+    private boolean handOff(ExternalQuote quote) {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.deliver(quote)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The refill failed: let waiters fall back right away rather than at {@code max-wait}. */
+    private void releaseWaiters() {
+        Waiter waiter;
+        while ((waiter = waiters.poll()) != null) {
+            if (waiter.expire()) {
+                waiter.sink.tryEmitEmpty();
+            }
+        }
+    }
+
+    /** One parked caller; whichever of delivery and expiry claims it first decides the outcome. */
+    private static final class Waiter {
+
+        private final Sinks.One<ExternalQuote> sink = Sinks.one();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        boolean deliver(ExternalQuote quote) {
+            if (!claimed.compareAndSet(false, true)) {
+                return false;
+            }
+            sink.tryEmitValue(quote);
+            return true;
+        }
+
+        boolean expire() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private List<ExternalQuote> fetchBatch() {
+        List<ExternalQuote> batch = refillTimer.record(() -> quoteProviderRouter.fetchBatch().block());
+        return batch != null ? batch : List.of();
+    }
+}
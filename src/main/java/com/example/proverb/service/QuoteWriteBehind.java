@@ -0,0 +1,251 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for imported quotes. Callers enqueue and return immediately; a dedicated
+ * writer thread flushes JDBC batches when {@code batch-size} rows are waiting or
+ * {@code max-delay} has passed. When the queue is full, new rows are dropped rather than
+ * stalling request threads, and whatever is queued at shutdown is flushed before the
+ * datasource closes.
+ */
+@Component
+public class QuoteWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuoteWriteBehind.class);
+    private static final long SHUTDOWN_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ProverbRepository proverbRepository;
+    private final ProverbCatalog proverbCatalog;
+    private final QuoteDeduplicator quoteDeduplicator;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ArrayBlockingQueue<Proverb> queue;
+    private final int batchSize;
+    private final Duration maxDelay;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+
+    private final Thread writer;
+    private volatile boolean accepting = true;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    public QuoteWriteBehind(
+            ProverbRepository proverbRepository,
+            ProverbCatalog proverbCatalog,
+            QuoteDeduplicator quoteDeduplicator,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.quotes.write-behind.capacity:10000}") int capacity,
+            @Value("${proverbly.quotes.write-behind.batch-size:50}") int batchSize,
+            @Value("${proverbly.quotes.write-behind.max-delay:PT1S}") Duration maxDelay,
+            @Value("${proverbly.quotes.write-behind.offer-timeout:PT0S}") Duration offerTimeout,
+            @Value("${proverbly.quotes.write-behind.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+
+        this.proverbRepository = proverbRepository;
+        this.proverbCatalog = proverbCatalog;
+        this.quoteDeduplicator = quoteDeduplicator;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelay = maxDelay;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("quote-writer-");
+        threadFactory.setDaemon(true);
+        this.writer = threadFactory.newThread(this::run);
+
+        meterRegistry.gauge("proverbly.quotes.write-behind.depth", queue, ArrayBlockingQueue::size);
+        this.enqueued = meterRegistry.counter("proverbly.quotes.write-behind.enqueued");
+        this.dropped = meterRegistry.counter("proverbly.quotes.write-behind.dropped");
+        this.written = meterRegistry.counter("proverbly.quotes.write-behind.written");
+        this.failed = meterRegistry.counter("proverbly.quotes.write-behind.failed");
+        this.flushTimer = meterRegistry.timer("proverbly.quotes.write-behind.flush");
+    }
+
+    @PostConstruct
+    public void start() {
+        writer.start();
+    }
+
+    /** Queues a row for the next batch; returns {@code false} if it was dropped. */
+    public boolean enqueue(Proverb proverb) {
+        if (!accepting) {
+            dropped.increment();
+            return false;
+        }
+        boolean accepted;
+        try {
+            accepted = offerTimeout.isZero()
+                    ? queue.offer(proverb)
+                    : queue.offer(proverb, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (accepted) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+            logger.warn("Write-behind queue full — dropping quote \"{}\"", proverb.getText());
+        }
+        return accepted;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // No interrupt: the writer re-checks the flag every 100ms, and an interrupted thread
+        // could abort the JDBC batch it is in the middle of.
+        accepting = false;
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            logger.warn("Write-behind writer did not finish within {}; {} quotes left unsaved",
+                    shutdownTimeout, queue.size());
+        }
+    }
+
+    private void run() {
+        List<Proverb> batch = new ArrayList<>(batchSize);
+        while (accepting) {
+            try {
+                Proverb first = queue.poll(SHUTDOWN_CHECK_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize && accepting) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    Proverb next = queue.poll(Math.min(remaining, SHUTDOWN_CHECK_NANOS), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        continue;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                logger.warn("Write-behind writer interrupted — flushing what is queued");
+                break;
+            }
+        }
+        // Shutdown: write out everything still queued, including a partially collected batch.
+        do {
+            queue.drainTo(batch, batchSize - batch.size());
+            flush(batch);
+        } while (!queue.isEmpty());
+    }
+
+    private void flush(List<Proverb> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<Proverb> fresh = withoutStoredDuplicates(batch);
+            if (fresh.isEmpty()) {
+                return;
+            }
+            List<Proverb> saved;
+            try {
+                saved = flushTimer.record(() ->
+                        transactionTemplate.execute(status -> proverbRepository.saveAll(fresh)));
+            } catch (DataIntegrityViolationException e) {
+                // Another writer stored one of these hashes since we checked; fall back to
+                // row-by-row inserts so only the actual duplicates are skipped.
+                saved = saveIndividually(fresh);
+            }
+            if (saved != null) {
+                written.increment(saved.size());
+                quoteDeduplicator.recordStored(saved.stream().map(Proverb::getContentHash).toList());
+                proverbCatalog.publishAll(saved);
+            }
+            logger.debug("Write-behind flushed {} quotes", fresh.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            logger.error("Write-behind flush of {} quotes failed: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /** Upsert semantics: rows whose content hash is already stored (or repeated in the batch) are skipped. */
+    private List<Proverb> withoutStoredDuplicates(List<Proverb> batch) {
+        Map<String, Proverb> byHash = new LinkedHashMap<>();
+        List<Proverb> fresh = new ArrayList<>(batch.size());
+        for (Proverb proverb : batch) {
+            if (proverb.getContentHash() == null) {
+                fresh.add(proverb);
+            } else {
+                byHash.putIfAbsent(proverb.getContentHash(), proverb);
+            }
+        }
+        int duplicates = batch.size() - fresh.size() - byHash.size();
+        if (!byHash.isEmpty()) {
+            List<String> stored = proverbRepository.findExistingContentHashes(byHash.keySet());
+            for (String hash : stored) {
+                if (byHash.remove(hash) != null) {
+                    duplicates++;
+                }
+            }
+            quoteDeduplicator.recordStored(stored);
+            fresh.addAll(byHash.values());
+        }
+        if (duplicates > 0) {
+            quoteDeduplicator.recordLateDuplicates(duplicates);
+        }
+        return fresh;
+    }
+
+    private List<Proverb> saveIndividually(List<Proverb> rows) {
+        List<Proverb> saved = new ArrayList<>(rows.size());
+        int duplicates = 0;
+        for (Proverb proverb : rows) {
+            // The rolled-back saveAll already drew a sequence id; with it set, save() would merge
+            // a row that was never stored instead of inserting it.
+            proverb.setId(null);
+            try {
+                saved.add(transactionTemplate.execute(status -> proverbRepository.save(proverb)));
+            } catch (DataIntegrityViolationException e) {
+                duplicates++;
+            }
+        }
+        if (duplicates > 0) {
+            quoteDeduplicator.recordLateDuplicates(duplicates);
+        }
+        return saved;
+    }
+}
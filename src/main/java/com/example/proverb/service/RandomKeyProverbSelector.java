@@ -0,0 +1,149 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Language;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.repo.ProverbSampler;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Selection for catalogs too large for the heap. Every row carries a random key fixed at insert;
+ * a pick seeks to a random point in the key space and reads the next {@code sample-size} ids off
+ * the index, wrapping to the bottom when it runs off the top, then chooses one of them that the
+ * channel has not seen among its last {@code no-repeat-window} picks and loads that row by id.
+ *
+ * <p>Seeking alone would favour rows that follow a wide gap in the key space; choosing
+ * uniformly within a run of consecutive rows averages that over the run's gaps, so the spread
+ * of per-row probabilities shrinks with the square root of the sample size.
+ */
+@Component
+@ConditionalOnProperty(name = ProverbSelector.MODE_PROPERTY, havingValue = "database")
+public class RandomKeyProverbSelector implements ProverbSelector {
+
+    private final ProverbSampler proverbSampler;
+    private final ProverbRepository proverbRepository;
+    private final int window;
+    private final int sampleSize;
+    private final Cache<String, RecentPicks> recentPicks;
+
+    public RandomKeyProverbSelector(
+            ProverbSampler proverbSampler,
+            ProverbRepository proverbRepository,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.selection.database.no-repeat-window:32}") int window,
+            @Value("${proverbly.selection.database.sample-size:32}") int sampleSize,
+            @Value("${proverbly.rotation.channels.max-size:50000}") long maxChannels,
+            @Value("${proverbly.rotation.channels.expire-after-access:PT12H}") Duration expireAfterAccess) {
+
+        if (window < 0 || sampleSize < 1) {
+            throw new IllegalArgumentException("No-repeat window must be >= 0 and the sample size positive");
+        }
+        this.proverbSampler = proverbSampler;
+        this.proverbRepository = proverbRepository;
+        this.window = window;
+        // One more than the window guarantees an unseen candidate whenever the table is larger.
+        this.sampleSize = Math.max(sampleSize, window + 1);
+        this.recentPicks = Caffeine.newBuilder()
+                .maximumSize(maxChannels)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentPicks, "proverbly.selection.recent");
+    }
+
+    @Override
+    public Proverb pick(String language, String channelId) {
+        String code = Language.normalize(language);
+        if (language != null && code == null) {
+            return null;
+        }
+        List<Long> candidates = sample(code);
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        String key = (channelId == null || channelId.isBlank() ? "" : channelId) + '|' + (code == null ? "ALL" : code);
+        Long chosen = recentPicks.get(key, k -> new RecentPicks(window)).choose(candidates);
+        return proverbRepository.findById(chosen).orElse(null);
+    }
+
+    @Override
+    public boolean isNonBlocking() {
+        return false;
+    }
+
+    private List<Long> sample(String code) {
+        int from = ThreadLocalRandom.current().nextInt(Proverb.RANDOM_KEY_BOUND);
+        List<Long> ids = proverbSampler.idsFrom(code, from, sampleSize);
+        if (ids.size() == sampleSize) {
+            return ids;
+        }
+        // Ran off the top of the key space; on tables smaller than the sample this also
+        // re-reads rows already seen, which the set drops.
+        Set<Long> wrapped = new LinkedHashSet<>(ids);
+        wrapped.addAll(proverbSampler.idsFrom(code, 0, sampleSize - ids.size()));
+        return List.copyOf(wrapped);
+    }
+
+    /** The last {@code capacity} ids handed to one channel and language, oldest overwritten first. */
+    static final class RecentPicks {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] ring;
+        private int count;
+        private int next;
+
+        RecentPicks(int capacity) {
+            this.ring = new long[capacity];
+        }
+
+        Long choose(List<Long> candidates) {
+            lock.lock();
+            try {
+                List<Long> unseen = new ArrayList<>(candidates.size());
+                for (Long id : candidates) {
+                    if (!contains(id)) {
+                        unseen.add(id);
+                    }
+                }
+                if (unseen.isEmpty()) {
+                    // Every row in scope was shown within the window: start a new cycle.
+                    count = 0;
+                    unseen = candidates;
+                }
+                Long chosen = unseen.get(ThreadLocalRandom.current().nextInt(unseen.size()));
+                if (ring.length > 0) {
+                    ring[next] = chosen;
+                    next = (next + 1) % ring.length;
+                    count = Math.min(count + 1, ring.length);
+                }
+                return chosen;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean contains(long id) {
+            for (int i = 0, slot = next; i < count; i++) {
+                slot = slot == 0 ? ring.length - 1 : slot - 1;
+                if (ring[slot] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.proverb.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only inverted index with BM25 ranking. Documents are numbered in the order they are
+ * added; each term keeps parallel arrays of document numbers and term frequencies, so adding a
+ * document touches only its own terms. Searches score into per-thread scratch arrays and keep
+ * the top {@code limit} in a primitive heap, so a query allocates little beyond its result list.
+ */
+public final class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private long[] ids = new long[1024];
+    private String[] languages = new String[1024];
+    private int[] lengths = new int[1024];
+    private int size;
+    private long totalLength;
+
+    /** Indexes one document; {@code fields} are concatenated and may contain {@code null}s. */
+    public void add(long id, String languageCode, String... fields) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String field : fields) {
+            for (String term : SearchTokenizer.tokenize(field)) {
+                frequencies.merge(term, 1, Integer::sum);
+                length++;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                languages = Arrays.copyOf(languages, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            int doc = size;
+            ids[doc] = id;
+            languages[doc] = languageCode;
+            lengths[doc] = length;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new Postings()).add(doc, entry.getValue());
+            }
+            totalLength += length;
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first; {@code languageCode} restricts hits to one language when set. Terms
+     * are scored rarest first. Once the current {@code limit}-th best score reaches the most the
+     * remaining (commoner) terms could add, documents not yet seen cannot make the cut, so those
+     * terms only update documents already scored (MaxScore pruning).
+     */
+    public List<Hit> search(String query, String languageCode, int limit) {
+        Set<String> distinct = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (distinct.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Postings> terms = new ArrayList<>(distinct.size());
+            for (String term : distinct) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    terms.add(list);
+                }
+            }
+            if (terms.isEmpty()) {
+                return List.of();
+            }
+            terms.sort((a, b) -> Integer.compare(a.size, b.size));
+            double[] idf = new double[terms.size()];
+            double[] remainingBound = new double[terms.size() + 1];
+            for (int t = terms.size() - 1; t >= 0; t--) {
+                int df = terms.get(t).size;
+                idf[t] = Math.log(1 + (size - df + 0.5) / (df + 0.5));
+                remainingBound[t] = remainingBound[t + 1] + idf[t] * (K1 + 1);
+            }
+
+            Scratch scratch = SCRATCH.get();
+            scratch.ensure(size, limit);
+            double averageLength = Math.max(1.0, totalLength / (double) size);
+            try {
+                for (int t = 0; t < terms.size(); t++) {
+                    boolean admitNew = scratch.touchedCount < limit || scratch.kthBest(limit) < remainingBound[t];
+                    Postings list = terms.get(t);
+                    for (int i = 0; i < list.size; i++) {
+                        int doc = list.docs[i];
+                        if (!admitNew && scratch.scores[doc] == 0) {
+                            continue;
+                        }
+                        if (languageCode != null && !languageCode.equals(languages[doc])) {
+                            continue;
+                        }
+                        int tf = list.freqs[i];
+                        double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                        scratch.add(doc, idf[t] * tf * (K1 + 1) / (tf + norm));
+                    }
+                }
+                return scratch.top(limit, ids);
+            } finally {
+                scratch.reset();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Hit(long id, double score) {
+    }
+
+    private static final class Postings {
+
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = frequency;
+            size++;
+        }
+    }
+
+    /** Score accumulators plus the list of documents touched, so resetting costs only the hits. */
+    private static final class Scratch {
+
+        double[] scores = new double[0];
+        int[] touched = new int[0];
+        int touchedCount;
+        int[] heap = new int[0];
+        int heapSize;
+
+        void ensure(int documents, int limit) {
+            if (scores.length < documents) {
+                scores = new double[documents];
+                touched = new int[documents];
+            }
+            if (heap.length < limit) {
+                heap = new int[limit];
+            }
+        }
+
+        void add(int doc, double score) {
+            if (scores[doc] == 0) {
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += score;
+        }
+
+        /** The {@code limit}-th best score so far; callers ensure at least that many are scored. */
+        double kthBest(int limit) {
+            select(limit);
+            return scores[heap[0]];
+        }
+
+        List<Hit> top(int limit, long[] ids) {
+            select(limit);
+            Hit[] hits = new Hit[heapSize];
+            for (int i = heapSize - 1; i >= 0; i--) {
+                int doc = heap[0];
+                hits[i] = new Hit(ids[doc], scores[doc]);
+                heap[0] = heap[--heapSize];
+                siftDown(0);
+            }
+            return List.of(hits);
+        }
+
+        /** Fills {@code heap} with the best {@code limit} touched documents, worst at the root. */
+        private void select(int limit) {
+            heapSize = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                if (heapSize < limit) {
+                    heap[heapSize] = doc;
+                    siftUp(heapSize++);
+                } else if (better(doc, heap[0])) {
+                    heap[0] = doc;
+                    siftDown(0);
+                }
+            }
+        }
+
+        /** Higher score wins; equal scores go to the earlier document. */
+        private boolean better(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] > scores[b] : a < b;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < heapSize && better(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < heapSize && better(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(worst, index);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+            heapSize = 0;
+        }
+    }
+}
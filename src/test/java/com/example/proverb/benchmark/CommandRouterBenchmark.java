@@ -0,0 +1,104 @@
+package com.example.proverb.benchmark;
+
+import com.example.proverb.controller.CommandRouter;
+import com.example.proverb.controller.CommandRouter.Command;
+import com.example.proverb.model.Language;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link CommandRouter} against the chain it replaced: lower-case the message, match the search
+ * regex, then {@code startsWith}/{@code contains} per command and per language. Add
+ * {@code -prof gc} to see allocation per message. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.proverb.benchmark.CommandRouterBenchmark}
+ * or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandRouterBenchmark {
+
+    private static final List<String> NIGERIAN_LANGUAGES = Language.nigerian().stream().map(Language::code).toList();
+    private static final Pattern SEARCH_COMMAND =
+            Pattern.compile("^/search\\s+(.+)$|\\bproverbs?\\s+(?:about|on)\\s+(.+)$");
+
+    @Param({"short", "long"})
+    String shape;
+
+    private CommandRouter router;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        CommandRouter.Builder builder = CommandRouter.builder()
+                .startsWith("/start", Command.HELP)
+                .startsWith("/help", Command.HELP)
+                .startsWith("/similar", Command.SIMILAR)
+                .contains("more like this", Command.SIMILAR)
+                .startsWithArgument("/search", Command.SEARCH)
+                .phraseWithArgument("proverb about", Command.SEARCH)
+                .phraseWithArgument("proverbs about", Command.SEARCH)
+                .phraseWithArgument("proverb on", Command.SEARCH)
+                .phraseWithArgument("proverbs on", Command.SEARCH)
+                .contains("proverb", Command.PROVERB)
+                .contains("quote", Command.QUOTE);
+        Language.nigerian().forEach(builder::language);
+        router = builder.build();
+
+        if (shape.equals("short")) {
+            message = "Hausa proverb";
+        } else {
+            message = "Good morning everyone! ".repeat(40)
+                    + "Could somebody share a Hausa proverb with the team before the stand-up? Thanks.";
+        }
+    }
+
+    @Benchmark
+    public CommandRouter.Route router() {
+        return router.route(message);
+    }
+
+    @Benchmark
+    public Object legacyChain() {
+        String text = message.toLowerCase();
+        Matcher matcher = SEARCH_COMMAND.matcher(text.trim());
+        String query = matcher.find() ? (matcher.group(1) != null ? matcher.group(1) : matcher.group(2)) : null;
+        String language = NIGERIAN_LANGUAGES.stream().filter(text::contains).findFirst().orElse(null);
+        if (text.startsWith("/start") || text.startsWith("/help")) {
+            return Command.HELP;
+        } else if (text.startsWith("/similar") || text.contains("more like this")) {
+            return Command.SIMILAR;
+        } else if (query != null) {
+            return query;
+        } else if (text.contains("proverb")) {
+            return language;
+        } else if (text.contains("quote")) {
+            return Command.QUOTE;
+        }
+        return Command.INSPIRE;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CommandRouterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.proverb.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent webhook throughput when each request blocks on an upstream round trip (ZenQuotes,
+ * Quotable, MySQL), under Tomcat's default 200-thread platform pool, a platform thread per
+ * request, and a virtual thread per request. The {@code platformThreads} counter is the peak number
+ * of live platform threads, each of which reserves a full stack; add {@code -prof gc} for heap allocation.
+ * The {@code virtual} model needs a Java 21 runtime and fails its setup on older ones, e.g.
+ * {@code java -cp <test classpath> org.openjdk.jmh.Main OutboundExecutionBenchmark} with a 21 JDK.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboundExecutionBenchmark {
+
+    /** Webhooks in flight at once. */
+    private static final int REQUESTS = 1_000;
+
+    /** {@code server.tomcat.threads.max} default. */
+    private static final int TOMCAT_THREADS = 200;
+
+    @Param({"tomcat-pool", "thread-per-request", "virtual"})
+    String model;
+
+    /** Upstream latency each request blocks on. */
+    @Param({"20"})
+    int upstreamMillis;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private ExecutorService executor;
+
+    /**
+     * JMH sums event counters over the measurement iterations, so the trial's peak is reported once,
+     * in the last of them, and the summary line shows the peak itself.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long platformThreads;
+
+        private int measurementsLeft = -1;
+        private boolean last;
+
+        @Setup(Level.Iteration)
+        public void nextIteration(IterationParams iteration) {
+            platformThreads = 0;
+            if (iteration.getType() == IterationType.MEASUREMENT) {
+                if (measurementsLeft < 0) {
+                    measurementsLeft = iteration.getCount();
+                }
+                last = --measurementsLeft == 0;
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        executor = switch (model) {
+            case "tomcat-pool" -> Executors.newFixedThreadPool(TOMCAT_THREADS);
+            case "thread-per-request" -> Executors.newCachedThreadPool();
+            case "virtual" -> virtualThreadPerTask();
+            default -> throw new IllegalArgumentException(model);
+        };
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int webhooks(Footprint footprint) throws Exception {
+        List<Future<Integer>> replies = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            replies.add(executor.submit(this::handle));
+        }
+        if (footprint.last) {
+            footprint.platformThreads = threads.getPeakThreadCount();
+        }
+        int total = 0;
+        for (Future<Integer> reply : replies) {
+            total += reply.get();
+        }
+        return total;
+    }
+
+    private Integer handle() throws InterruptedException {
+        Thread.sleep(upstreamMillis);
+        return ("🪶 Yoruba Proverb:\n\nÌwà l'ẹwà\n\nMeaning:\nCharacter is beauty " + Thread.currentThread().getId()).length();
+    }
+
+    // Looked up reflectively so the benchmark still compiles for the Java 17 release.
+    private static ExecutorService virtualThreadPerTask() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21+ runtime", e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OutboundExecutionBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.proverb.benchmark;
+
+import com.example.proverb.dto.TelexReply;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.service.ProverbCatalog;
+import com.example.proverb.service.ProverbReplies;
+import com.example.proverb.service.ProverbSelector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A proverb chat reply from picked row to response bytes: formatted and serialized per request,
+ * as before, against rendered once by {@link ProverbReplies} and copied out. Sample-time mode
+ * reports percentiles; {@code -prof gc} (on in {@link #main}) reports bytes per reply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplyRenderingBenchmark {
+
+    private static final int PROVERBS = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    private List<Proverb> proverbs;
+    private ProverbReplies replies;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        proverbs = new ArrayList<>(PROVERBS);
+        for (int i = 1; i <= PROVERBS; i++) {
+            Proverb proverb = new Proverb();
+            proverb.setId((long) i);
+            proverb.setLanguage("Yoruba");
+            proverb.setProverb("Bí ọmọdé bá mọ ọwọ́ wẹ̀, á bá àgbà jẹun " + i);
+            proverb.setMeaning("If a child learns to wash their hands, they will eat with the elders: good conduct earns respect.");
+            proverbs.add(proverb);
+        }
+        ProverbRepository repository = mock(ProverbRepository.class);
+        when(repository.findAll(any(Sort.class))).thenReturn(proverbs);
+        ProverbCatalog catalog = new ProverbCatalog(repository, ProverbSelector.Mode.MEMORY);
+        catalog.reload();
+        replies = new ProverbReplies(catalog, new SimpleMeterRegistry(), PROVERBS * 2);
+    }
+
+    private Proverb nextProverb() {
+        next = next + 1 == PROVERBS ? 0 : next + 1;
+        return proverbs.get(next);
+    }
+
+    @Benchmark
+    public int formatPerRequest() throws Exception {
+        Proverb proverb = nextProverb();
+        String text = String.format("🪶 %s Proverb:\n\n%s\n\nMeaning:\n%s",
+                proverb.getLanguage(), proverb.getProverb(), proverb.getMeaning());
+        out.reset();
+        objectMapper.writeValue(out, TelexReply.inChannel(text));
+        return out.size();
+    }
+
+    @Benchmark
+    public int preRendered() throws Exception {
+        out.reset();
+        objectMapper.writeValue(out, replies.render(nextProverb(), ProverbReplies.Style.CHAT).reply());
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReplyRenderingBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
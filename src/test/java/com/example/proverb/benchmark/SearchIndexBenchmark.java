@@ -0,0 +1,87 @@
+package com.example.proverb.benchmark;
+
+import com.example.proverb.service.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of {@link SearchIndex} over a synthetic corpus whose term frequencies follow a
+ * Zipf-like curve, so common terms have long postings lists as they would in real text. Run
+ * with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.proverb.benchmark.SearchIndexBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] LANGUAGES = {"yoruba", "igbo", "hausa", "efik", "ibibio", "english"};
+
+    @Param({"100000"})
+    int documents;
+
+    private SearchIndex index;
+    private String[] vocabulary;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = "w" + Integer.toString(i, 36) + (i % 7 == 0 ? "ẹ̀" : "");
+        }
+        index = new SearchIndex();
+        StringBuilder text = new StringBuilder();
+        for (int doc = 0; doc < documents; doc++) {
+            text.setLength(0);
+            int length = 8 + random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                text.append(vocabulary[zipf(random)]).append(' ');
+            }
+            index.add(doc + 1, LANGUAGES[doc % LANGUAGES.length], text.toString(), null, "meaning " + doc);
+        }
+    }
+
+    /** Rank drawn with probability roughly proportional to 1 / rank. */
+    private int zipf(SplittableRandom random) {
+        return (int) Math.min(vocabulary.length - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(vocabulary.length))) - 1);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> rareTerm() {
+        return index.search(vocabulary[5_000], null, 10);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> threeTermsWithACommonOne() {
+        return index.search(vocabulary[3] + " " + vocabulary[250] + " " + vocabulary[4_000], null, 10);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> languageFiltered() {
+        return index.search(vocabulary[40] + " " + vocabulary[900], "igbo", 10);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
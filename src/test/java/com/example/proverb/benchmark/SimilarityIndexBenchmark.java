@@ -0,0 +1,156 @@
+package com.example.proverb.benchmark;
+
+import com.example.proverb.service.MinHashIndex;
+import com.example.proverb.service.SearchTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup latency of {@link MinHashIndex} against an exact Jaccard scan over the same shingles.
+ * Every fifth document paraphrases an earlier one in another language (a few words swapped), the
+ * way the same wisdom shows up in several languages. Recall against the exact scan is asserted
+ * in {@code ProverbSimilarityTests}. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.proverb.benchmark.SimilarityIndexBenchmark} or from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimilarityIndexBenchmark {
+
+    private static final String[] LANGUAGES = {"yoruba", "igbo", "hausa", "efik", "ibibio", "english"};
+    private static final int K = 5;
+    private static final double MIN_SIMILARITY = 0.2;
+
+    @Param({"100000"})
+    int documents;
+
+    private MinHashIndex index;
+    private long[][] shingles;
+    private String[] languages;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+        index = new MinHashIndex();
+        shingles = new long[documents][];
+        languages = new String[documents];
+        String[] texts = new String[documents];
+        for (int doc = 0; doc < documents; doc++) {
+            String[] words;
+            if (doc % 5 == 4) {
+                words = texts[random.nextInt(doc)].split(" ");
+                int edits = 1 + random.nextInt(4);
+                for (int e = 0; e < edits; e++) {
+                    words[random.nextInt(words.length)] = vocabulary[zipf(random, vocabulary.length)];
+                }
+            } else {
+                words = new String[8 + random.nextInt(12)];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = vocabulary[zipf(random, vocabulary.length)];
+                }
+            }
+            texts[doc] = String.join(" ", words);
+            languages[doc] = LANGUAGES[doc % LANGUAGES.length];
+            shingles[doc] = shingles(texts[doc]);
+            index.add(doc, languages[doc], texts[doc]);
+        }
+        query = 4;
+    }
+
+    @Benchmark
+    public List<MinHashIndex.Match> minHash() {
+        return index.similar(query, K, MIN_SIMILARITY, true);
+    }
+
+    @Benchmark
+    public int[] exactScan() {
+        return exactTop(query, K);
+    }
+
+    /** Exact top-k by Jaccard in other languages, at or above {@link #MIN_SIMILARITY}. */
+    private int[] exactTop(int doc, int k) {
+        List<double[]> best = new ArrayList<>();
+        for (int other = 0; other < documents; other++) {
+            if (other == doc || languages[other].equals(languages[doc])) {
+                continue;
+            }
+            double similarity = jaccard(shingles[doc], shingles[other]);
+            if (similarity >= MIN_SIMILARITY) {
+                best.add(new double[]{similarity, other});
+            }
+        }
+        best.sort((a, b) -> Double.compare(b[0], a[0]));
+        return best.stream().limit(k).mapToInt(entry -> (int) entry[1]).toArray();
+    }
+
+    private static double jaccard(long[] a, long[] b) {
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common / (double) (a.length + b.length - common);
+    }
+
+    /** Sorted, distinct hashes of the character 4-grams the index shingles on. */
+    private static long[] shingles(String text) {
+        List<Long> hashes = new ArrayList<>();
+        for (String term : SearchTokenizer.tokenize(text)) {
+            String padded = ' ' + term + ' ';
+            for (int start = 0; start <= Math.max(0, padded.length() - 4); start++) {
+                hashes.add((long) padded.substring(start, Math.min(padded.length(), start + 4)).hashCode());
+            }
+        }
+        return hashes.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+    }
+
+    private static String word(SplittableRandom random) {
+        char[] letters = new char[3 + random.nextInt(7)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static int zipf(SplittableRandom random, int size) {
+        return (int) Math.min(size - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(size))) - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SimilarityIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.proverb.benchmark;
+
+import com.example.proverb.dto.TelexMessage;
+import com.example.proverb.dto.TelexReply;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a Telex webhook body into {@code Map<String, Object>} against the streaming
+ * {@link TelexMessage} deserializer, and writing the reply from a {@code HashMap} against
+ * {@link TelexReply}. The payloads mimic what Telex posts: integration settings, message parts
+ * and metadata, and optionally the recent channel history. Run with {@code -prof gc} for bytes
+ * allocated per request; {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.proverb.benchmark.WebhookBindingBenchmark} does that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebhookBindingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {
+    };
+
+    /** Messages of channel history Telex includes with the event: 0 is a 1.5 KB body, 40 about 10 KB. */
+    @Param({"0", "40"})
+    int history;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"channel_id\":\"01jc8kz3v6x9m2p4q7r5s8t0wy\",");
+        json.append("\"org_id\":\"01jc8kz3v6x9m2p4q7r5s8t0ab\",\"integration_id\":\"proverbly-agent\",");
+        json.append("\"settings\":[");
+        for (int i = 0; i < 6; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"label\":\"setting-").append(i)
+                    .append("\",\"type\":\"text\",\"required\":true,\"default\":\"*/15 * * * *\",\"description\":\"")
+                    .append("How often the agent posts an inspiration into the channel, as a cron expression.\"}");
+        }
+        json.append("],\"message\":{\"message_id\":\"01jc8m0abcdef\",\"text\":\"Could you share a Yoruba proverb?\",");
+        json.append("\"parts\":[{\"kind\":\"text\",\"text\":\"Could you share a Yoruba proverb?\"}],");
+        json.append("\"metadata\":{\"client\":\"web\",\"locale\":\"en-NG\",\"mentions\":[],\"edited\":false}},");
+        json.append("\"user\":{\"id\":\"01jc8u\",\"username\":\"adaeze\",\"display_name\":\"Adaeze O.\",\"avatar_url\":\"https://cdn.telex.im/a/01jc8u.png\"},");
+        json.append("\"history\":[");
+        for (int i = 0; i < history; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"message_id\":\"01jc8m").append(i)
+                    .append("\",\"author\":\"01jc8u\",\"sent_at\":\"2026-10-17T09:").append(10 + i % 50)
+                    .append(":00Z\",\"text\":\"Earlier message number ").append(i)
+                    .append(" in the channel, long enough to look like a real sentence someone typed.\",")
+                    .append("\"reactions\":[{\"emoji\":\"+1\",\"count\":").append(i % 4).append("}]}");
+        }
+        json.append("]}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Object bindMap() throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(body, MAP);
+        return payload.get("message") instanceof Map<?, ?> message ? message.get("text") : null;
+    }
+
+    @Benchmark
+    public Object bindTyped() throws Exception {
+        return objectMapper.readValue(body, TelexMessage.class).text();
+    }
+
+    @Benchmark
+    public byte[] writeMapReply() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("text", "🪶 Yoruba Proverb:\n\nÌwà l'ẹwà\n\nMeaning:\nCharacter is beauty");
+        response.put("response_type", "in_channel");
+        response.put("content_type", "text");
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeRecordReply() throws Exception {
+        return objectMapper.writeValueAsBytes(TelexReply.inChannel("🪶 Yoruba Proverb:\n\nÌwà l'ẹwà\n\nMeaning:\nCharacter is beauty"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(WebhookBindingBenchmark.class.getSimpleName()).addProfiler("gc").build()).run();
+    }
+}
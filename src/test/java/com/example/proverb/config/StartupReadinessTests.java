@@ -0,0 +1,64 @@
+package com.example.proverb.config;
+
+import com.example.proverb.service.CatalogSeeder;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class StartupReadinessTests {
+
+    private final List<ReadinessState> states = new CopyOnWriteArrayList<>();
+    private StartupReadiness readiness;
+
+    @Test
+    void readinessWaitsForSeedingWithoutBlockingStartup() throws Exception {
+        CountDownLatch seedRelease = new CountDownLatch(1);
+        CatalogSeeder seeder = mock(CatalogSeeder.class);
+        doAnswer(invocation -> {
+            seedRelease.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(seeder).seed();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ApplicationEventPublisher publisher = event -> {
+            @SuppressWarnings("unchecked")
+            AvailabilityChangeEvent<ReadinessState> change = (AvailabilityChangeEvent<ReadinessState>) event;
+            states.add(change.getState());
+            readiness.onReadinessChange(change);
+        };
+        readiness = new StartupReadiness(seeder, executor, publisher);
+
+        try {
+            long start = System.nanoTime();
+            readiness.onStarted();
+            // Boot declares the app ready right away; the seed is still running.
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+            assertEquals(ReadinessState.REFUSING_TRAFFIC, states.get(states.size() - 1));
+            assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+
+            seedRelease.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+            assertEquals(ReadinessState.ACCEPTING_TRAFFIC, states.get(states.size() - 1));
+            assertEquals(Status.UP, readiness.health().getStatus());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
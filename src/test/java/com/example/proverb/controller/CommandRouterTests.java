@@ -0,0 +1,62 @@
+package com.example.proverb.controller;
+
+import com.example.proverb.controller.CommandRouter.Command;
+import com.example.proverb.model.Language;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandRouterTests {
+
+    private final CommandRouter router = CommandRouter.builder()
+            .startsWith("/help", Command.HELP)
+            .startsWith("/similar", Command.SIMILAR)
+            .contains("more  like this", Command.SIMILAR)
+            .startsWithArgument("/search", Command.SEARCH)
+            .phraseWithArgument("proverb about", Command.SEARCH)
+            .contains("proverb", Command.PROVERB)
+            .contains("quote", Command.QUOTE)
+            .language(Language.YORUBA)
+            .language(Language.IGBO)
+            .build();
+
+    @Test
+    void anchoredKeywordsOnlyMatchAtTheStart() {
+        assertThat(router.route("  /HELP me").command()).isEqualTo(Command.HELP);
+        assertThat(router.route("say /help").command()).isEqualTo(Command.INSPIRE);
+        assertThat(router.route("/similar").command()).isEqualTo(Command.SIMILAR);
+        assertThat(router.route("More\tlike   THIS").command()).isEqualTo(Command.SIMILAR);
+    }
+
+    @Test
+    void priorityAndLanguageDoNotDependOnKeywordOrder() {
+        assertThat(router.route("a quote or a proverb").command()).isEqualTo(Command.PROVERB);
+        assertThat(router.route("Igbo or Yoruba proverb"))
+                .isEqualTo(new CommandRouter.Route(Command.PROVERB, Language.YORUBA, -1));
+        assertThat(router.route("Ìgbò PROVERB").language()).isNull();
+        assertThat(router.route("anything else").command()).isEqualTo(Command.INSPIRE);
+    }
+
+    @Test
+    void argumentKeywordsNeedTextAfterThem() {
+        String message = "Yoruba proverb   about Patience and time ";
+        CommandRouter.Route route = router.route(message);
+        assertThat(route.command()).isEqualTo(Command.SEARCH);
+        assertThat(route.language()).isEqualTo(Language.YORUBA);
+        assertThat(route.argument(message)).isEqualTo("Patience and time");
+
+        assertThat(router.route("/search ").command()).isEqualTo(Command.INSPIRE);
+        assertThat(router.route("/searching").command()).isEqualTo(Command.INSPIRE);
+        assertThat(router.route("a proverb about ").command()).isEqualTo(Command.PROVERB);
+        assertThat(router.route("improverb about x").command()).isEqualTo(Command.PROVERB);
+        assertThat(router.route("/search x").argument("/search x")).isEqualTo("x");
+    }
+
+    @Test
+    void routesWithoutArgumentsAreShared() {
+        assertThat(router.route("yoruba proverb")).isSameAs(router.route("YORUBA PROVERB please"));
+        assertThatThrownBy(() -> CommandRouter.builder().contains("òwe", Command.PROVERB))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.proverb.controller;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.service.CatalogSnapshot;
+import com.example.proverb.service.ProverbCatalog;
+import com.example.proverb.service.ProverbListingCache;
+import com.example.proverb.service.ProverbSelector;
+import com.example.proverb.service.ProverbService;
+import com.example.proverb.service.QuoteDeduplicator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProverbControllerTests {
+
+    private final ProverbService proverbService = mock(ProverbService.class);
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final ProverbCatalog catalog = new ProverbCatalog(repository, ProverbSelector.Mode.MEMORY);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ProverbController(proverbService,
+            mock(QuoteDeduplicator.class), new ObjectMapper(),
+            new ProverbListingCache(new ObjectMapper(), new SimpleMeterRegistry(), 16))).build();
+
+    ProverbControllerTests() {
+        List<Proverb> rows = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            rows.add(proverb(id));
+        }
+        when(repository.findAll(any(Sort.class))).thenReturn(rows);
+        when(proverbService.catalogSnapshot()).thenAnswer(invocation -> catalog.snapshot());
+        when(proverbService.page(any(CatalogSnapshot.class), any(), anyLong(), anyInt())).thenAnswer(invocation ->
+                invocation.<CatalogSnapshot>getArgument(0).page(invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3)));
+        when(proverbService.getRandomByLanguage("yoruba")).thenReturn(proverb(7));
+    }
+
+    @Test
+    void pageCarriesNextCursorHeader() throws Exception {
+        mockMvc.perform(get("/api/proverbs").param("after", "10").param("limit", "2").param("language", "yoruba"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ProverbController.NEXT_CURSOR_HEADER, "12"))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(12));
+    }
+
+    @Test
+    void matchingEtagIsAnsweredWithNotModifiedUntilTheCatalogChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/proverbs").param("language", "yoruba"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/proverbs").param("language", "yoruba").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verify(proverbService, times(1)).page(any(CatalogSnapshot.class), any(), anyLong(), anyInt());
+
+        catalog.publish(proverb(21));
+
+        mockMvc.perform(get("/api/proverbs").param("language", "yoruba").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void randomPicksAreNeverAnsweredWithNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/proverbs"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/proverbs/random/yoruba").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.id").value(7));
+        mockMvc.perform(get("/api/proverbs/random/yoruba").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        verify(proverbService, times(2)).getRandomByLanguage("yoruba");
+    }
+
+    @Test
+    void ndjsonStreamsOneObjectPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Proverb> consumer = invocation.getArgument(2);
+            for (long id = 1; id <= 250; id++) {
+                consumer.accept(proverb(id));
+            }
+            return null;
+        }).when(proverbService).streamAll(isNull(), eq(0L), any());
+
+        MvcResult started = mockMvc.perform(get("/api/proverbs").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(250);
+        assertThat(lines.get(0)).startsWith("{\"id\":1,");
+        assertThat(body).endsWith("\n");
+    }
+
+    private static Proverb proverb(long id) {
+        Proverb proverb = new Proverb();
+        proverb.setId(id);
+        proverb.setLanguage("Yoruba");
+        proverb.setProverb("Proverb " + id);
+        return proverb;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.proverb.controller;
+
+import com.example.proverb.dto.TelexMessage;
+import com.example.proverb.dto.TelexReply;
+import com.example.proverb.provider.OfflineQuoteProvider;
+import com.example.proverb.service.ChannelSubscriptions;
+import com.example.proverb.service.ExternalQuoteService;
+import com.example.proverb.service.ProverbReplies;
+import com.example.proverb.service.ProverbService;
+import com.example.proverb.service.QuoteDeduplicator;
+import com.example.proverb.service.QuotePrefetchBuffer;
+import com.example.proverb.service.QuoteWriteBehind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the quote webhook against an upstream that holds each response for 2s, on a small worker
+ * pool standing in for a saturated Tomcat, and counts how many upstream calls are open at once.
+ * The baseline parks a worker on each round trip, as the handler did before it returned a
+ * {@link Mono}; {@code fetchRandomExternalQuote} still blocks that way. Both fetch over real HTTP:
+ * the quote client goes through the Reactor Netty connector the provider clients use, to a local
+ * stub server.
+ */
+class TelexWebhookLoadTests {
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofSeconds(2);
+    private static final int WORKERS = 4;
+    private static final int REQUESTS = 16;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final DisposableServer upstream = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.get("/random", (request, response) -> {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.delay(UPSTREAM_LATENCY)
+                                .doFinally(signal -> inFlight.decrementAndGet())
+                                .thenReturn("{\"quote\": \"Patience is bitter, but its fruit is sweet.\", \"author\": \"Local Wisdom\"}"));
+            }))
+            .bindNow();
+    private final ExternalQuoteService externalQuoteService = new ExternalQuoteService(
+            emptyBuffer(), new OfflineQuoteProvider(quoteClient(upstream)), mock(QuoteWriteBehind.class), mock(QuoteDeduplicator.class));
+    private final TelexWebhookController controller =
+            new TelexWebhookController(mock(ProverbService.class), externalQuoteService, mock(ProverbReplies.class), mock(ChannelSubscriptions.class));
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void reactiveWebhookIsNotBoundByWorkerThreads() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        try {
+            List<Future<?>> blocking = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                blocking.add(workers.submit(externalQuoteService::fetchRandomExternalQuote));
+            }
+            for (Future<?> request : blocking) {
+                request.get();
+            }
+            int blockingPeak = peakInFlight.getAndSet(0);
+
+            List<Future<Mono<TelexReply>>> handed = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                handed.add(workers.submit(() -> controller.handleTelexMessage(new TelexMessage("quote", null))));
+            }
+            List<Mono<TelexReply>> replies = new ArrayList<>();
+            for (Future<Mono<TelexReply>> request : handed) {
+                replies.add(request.get());
+            }
+            List<TelexReply> bodies = Flux.merge(replies).collectList().block();
+
+            assertThat(bodies).hasSize(REQUESTS).allSatisfy(body -> assertThat(body.text()).contains("Patience"));
+            // Parked workers cap the upstream calls at the pool size; the webhook hands every
+            // request back at once, so all of them wait on the upstream together.
+            assertThat(blockingPeak).isEqualTo(WORKERS);
+            assertThat(peakInFlight.get()).isEqualTo(REQUESTS);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static QuotePrefetchBuffer emptyBuffer() {
+        QuotePrefetchBuffer buffer = mock(QuotePrefetchBuffer.class);
+        when(buffer.next()).thenReturn(Mono.empty());
+        return buffer;
+    }
+
+    private static WebClient quoteClient(DisposableServer upstream) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
+                .baseUrl("http://localhost:" + upstream.port())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.proverb.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelexMessageDeserializerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsOnlyTextAndChannelSkippingEverythingElse() throws Exception {
+        String body = """
+                {"settings": [{"label": "interval", "type": "text", "default": "*/5 * * * *", "nested": {"a": [1, 2, {"b": null}]}}],
+                 "message": {"parts": [{"kind": "text", "text": "not this one"}], "text": "Yoruba proverb", "channel_id": "inner"},
+                 "channel_id": "outer",
+                 "user": {"id": 7, "tags": ["x"]}}
+                """;
+
+        assertThat(objectMapper.readValue(body, TelexMessage.class)).isEqualTo(new TelexMessage("Yoruba proverb", "outer"));
+    }
+
+    @Test
+    void fallsBackToTheMessageChannelAndToleratesOddShapes() throws Exception {
+        assertThat(objectMapper.readValue("{\"message\": {\"channel_id\": 42, \"text\": 5}}", TelexMessage.class))
+                .isEqualTo(new TelexMessage("5", "42"));
+        assertThat(objectMapper.readValue("{\"message\": \"hello\", \"channel_id\": null}", TelexMessage.class))
+                .isEqualTo(new TelexMessage(null, null));
+        assertThat(objectMapper.readValue("{\"message\": {\"text\": {\"rich\": true}}}", TelexMessage.class))
+                .isEqualTo(new TelexMessage(null, null));
+        assertThat(objectMapper.readValue("[1, 2]", TelexMessage.class)).isEqualTo(new TelexMessage(null, null));
+    }
+
+    @Test
+    void repliesKeepTheWireFieldNamesAndOmitUnsetFields() throws Exception {
+        assertThat(objectMapper.writeValueAsString(TelexReply.inChannel("hi")))
+                .isEqualTo("{\"success\":true,\"text\":\"hi\",\"response_type\":\"in_channel\",\"content_type\":\"text\"}");
+        assertThat(objectMapper.writeValueAsString(TelexReply.inspiration("quote", "q", "Anon")))
+                .isEqualTo("{\"success\":true,\"text\":\"q\",\"content_type\":\"text\",\"type\":\"quote\",\"author\":\"Anon\"}");
+    }
+}
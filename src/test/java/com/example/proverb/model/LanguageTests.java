@@ -0,0 +1,36 @@
+package com.example.proverb.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LanguageTests {
+
+    @Test
+    void namesResolveCaseAndWhitespaceInsensitively() {
+        assertEquals(Optional.of(Language.YORUBA), Language.fromName("  YorUBA "));
+        assertEquals(Optional.of(Language.ENGLISH), Language.fromName("english"));
+        assertTrue(Language.fromName("Klingon").isEmpty());
+        assertTrue(Language.fromName(null).isEmpty());
+        assertEquals(List.of(Language.YORUBA, Language.IGBO, Language.HAUSA, Language.EFIK, Language.IBIBIO),
+                Language.nigerian());
+    }
+
+    @Test
+    void writesKeepTheCodeInStepWithTheDisplayName() {
+        Proverb proverb = new Proverb();
+        proverb.setLanguage(" Hausa");
+        proverb.assignRandomKey();
+        assertEquals("hausa", proverb.getLanguageCode());
+        assertTrue(proverb.getRandomKey() >= 0);
+
+        proverb.setLanguage(" ");
+        proverb.normalizeLanguage();
+        assertNull(proverb.getLanguageCode());
+    }
+}
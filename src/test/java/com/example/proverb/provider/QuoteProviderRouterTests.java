@@ -0,0 +1,205 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.dto.ExternalQuote;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteProviderRouterTests {
+
+    @Test
+    void failingProviderIsRankedBehindHealthyOne() {
+        StubProvider broken = new StubProvider("Broken", true, false);
+        StubProvider healthy = new StubProvider("Healthy", false, false);
+        QuoteProviderRouter router = router(List.of(broken, healthy));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Healthy", router.fetchOne().block().getSource());
+        }
+
+        assertEquals(1, broken.calls.get());
+        assertEquals(10, healthy.calls.get());
+    }
+
+    @Test
+    void consecutiveFailuresOpenTheCircuit() {
+        StubProvider broken = new StubProvider("Broken", true, false);
+        QuoteProviderRouter router = router(List.of(broken, new StubProvider("Offline", false, true)));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Offline", router.fetchOne().block().getSource());
+        }
+
+        // Three consecutive failures open the circuit; later calls skip the provider entirely.
+        assertEquals(3, broken.calls.get());
+        assertEquals(ProviderHealth.State.OPEN, router.health().get(0).state());
+    }
+
+    @Test
+    void offlineSourceAnswersWhenEveryUpstreamFails() {
+        QuoteProviderRouter router = router(List.of(
+                new StubProvider("Broken", true, false),
+                new StubProvider("Offline", false, true)));
+
+        assertEquals("Offline", router.fetchOne().block().getSource());
+    }
+
+    @Test
+    void emptyAnswersCountAsFailures() {
+        StubProvider silent = new StubProvider("Silent", false, false, Duration.ZERO, true);
+        QuoteProviderRouter router = router(List.of(silent, new StubProvider("Offline", false, true)));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("Offline", router.fetchOne().block().getSource());
+        }
+
+        assertEquals(3, silent.calls.get());
+        assertEquals(ProviderHealth.State.OPEN, router.health().get(0).state());
+        assertTrue(router.health().get(0).errorRate() > 0);
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndTheLoserCancelled() {
+        StubProvider slow = new StubProvider("Slow", false, false, Duration.ofSeconds(3));
+        StubProvider fast = new StubProvider("Fast", false, false, Duration.ZERO);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QuoteProviderRouter router = new QuoteProviderRouter(List.of(slow, fast), hedging(0.1, 5), registry,
+                Duration.ofSeconds(5), 3, Duration.ofMinutes(1));
+
+        long start = System.nanoTime();
+        assertEquals("Fast", router.fetchOne().block().getSource());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1.0, registry.counter("proverbly.providers.hedge.sent").count());
+        assertEquals(1.0, registry.counter("proverbly.providers.hedge.wins").count());
+        // Cancelling the slow call is not a failure.
+        assertEquals(ProviderHealth.State.CLOSED, router.health().get(0).state());
+        assertEquals(0.0, router.health().get(0).errorRate());
+    }
+
+    @Test
+    void hedgesStopWhenTheBudgetIsSpent() {
+        StubProvider slow = new StubProvider("Slow", false, false, Duration.ofMillis(300));
+        StubProvider fast = new StubProvider("Fast", false, false, Duration.ZERO);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QuoteProviderRouter router = new QuoteProviderRouter(List.of(slow, fast), hedging(0, 1), registry,
+                Duration.ofSeconds(5), 3, Duration.ofMinutes(1));
+
+        assertEquals("Fast", router.fetchOne().block().getSource());
+        assertEquals("Slow", router.fetchOne().block().getSource());
+
+        assertEquals(1.0, registry.counter("proverbly.providers.hedge.sent").count());
+        assertEquals(1.0, registry.counter("proverbly.providers.hedge.denied").count());
+        assertEquals(1, fast.calls.get());
+    }
+
+    @Test
+    void primaryFailingWhileTheHedgeIsDeniedStillFallsThrough() {
+        Sinks.One<ExternalQuote> primaryAnswer = Sinks.one();
+        QuoteProvider primary = new QuoteProvider() {
+            @Override
+            public String name() {
+                return "Primary";
+            }
+
+            @Override
+            public Mono<ExternalQuote> fetchOne() {
+                return primaryAnswer.asMono();
+            }
+
+            @Override
+            public Mono<List<ExternalQuote>> fetchBatch() {
+                return fetchOne().map(List::of);
+            }
+        };
+        // The primary fails at the moment the hedge asks for budget, and the budget is spent.
+        HedgePolicy denying = new HedgePolicy(true, 0.95, Duration.ofMillis(10), Duration.ofMillis(10), 0, 0) {
+            @Override
+            public boolean tryWithdraw() {
+                primaryAnswer.tryEmitError(new IllegalStateException("Primary is down"));
+                return false;
+            }
+        };
+        StubProvider backup = new StubProvider("Backup", false, false);
+        QuoteProviderRouter router = new QuoteProviderRouter(List.of(primary, backup), denying, new SimpleMeterRegistry(),
+                Duration.ofSeconds(5), 3, Duration.ofMinutes(1));
+
+        assertEquals("Backup", router.fetchOne().block(Duration.ofSeconds(5)).getSource());
+        assertEquals(1, backup.calls.get());
+    }
+
+    private static HedgePolicy hedging(double budgetRatio, int budgetBurst) {
+        return new HedgePolicy(true, 0.95, Duration.ofMillis(10), Duration.ofMillis(50), budgetRatio, budgetBurst);
+    }
+
+    private static QuoteProviderRouter router(List<QuoteProvider> providers) {
+        return new QuoteProviderRouter(providers, HedgePolicy.disabled(), new SimpleMeterRegistry(),
+                Duration.ofSeconds(1), 3, Duration.ofMinutes(1));
+    }
+
+    private static final class StubProvider implements QuoteProvider {
+
+        private final String name;
+        private final boolean failing;
+        private final boolean fallback;
+        private final Duration delay;
+        private final boolean empty;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private StubProvider(String name, boolean failing, boolean fallback) {
+            this(name, failing, fallback, Duration.ZERO);
+        }
+
+        private StubProvider(String name, boolean failing, boolean fallback, Duration delay) {
+            this(name, failing, fallback, delay, false);
+        }
+
+        private StubProvider(String name, boolean failing, boolean fallback, Duration delay, boolean empty) {
+            this.name = name;
+            this.failing = failing;
+            this.fallback = fallback;
+            this.delay = delay;
+            this.empty = empty;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Mono<ExternalQuote> fetchOne() {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                if (failing) {
+                    return Mono.error(new IllegalStateException(name + " is down"));
+                }
+                if (empty) {
+                    return Mono.empty();
+                }
+                ExternalQuote quote = new ExternalQuote();
+                quote.setContent("A quote from " + name);
+                quote.setSource(name);
+                return delay.isZero() ? Mono.just(quote) : Mono.just(quote).delayElement(delay);
+            });
+        }
+
+        @Override
+        public Mono<List<ExternalQuote>> fetchBatch() {
+            return fetchOne().map(List::of);
+        }
+
+        @Override
+        public boolean isFallback() {
+            return fallback;
+        }
+    }
+}
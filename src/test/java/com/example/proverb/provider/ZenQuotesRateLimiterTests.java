@@ -0,0 +1,90 @@
+package com.example.proverb.provider;
+
+import com.example.proverb.exception.QuotaExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZenQuotesRateLimiterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void backgroundCallsLeaveTheInteractiveReserve() {
+        ZenQuotesRateLimiter limiter = new ZenQuotesRateLimiter(meterRegistry, 3, Duration.ofHours(1), 1);
+
+        assertTrue(limiter.tryAcquire(ZenQuotesRateLimiter.Priority.BACKGROUND));
+        assertTrue(limiter.tryAcquire(ZenQuotesRateLimiter.Priority.BACKGROUND));
+        assertFalse(limiter.tryAcquire(ZenQuotesRateLimiter.Priority.BACKGROUND));
+        assertTrue(limiter.tryAcquire(ZenQuotesRateLimiter.Priority.INTERACTIVE));
+        assertFalse(limiter.tryAcquire(ZenQuotesRateLimiter.Priority.INTERACTIVE));
+    }
+
+    @Test
+    void tooManyRequestsHoldsOffForRetryAfter() {
+        ZenQuotesRateLimiter limiter = new ZenQuotesRateLimiter(meterRegistry, 5, Duration.ofSeconds(1), 1);
+        ZenQuotesProvider provider = new ZenQuotesProvider(client(limiter, HttpStatus.TOO_MANY_REQUESTS), limiter);
+
+        assertThrows(QuotaExceededException.class, () -> provider.fetchOne().block());
+        assertThrows(QuotaExceededException.class, () -> provider.fetchOne().block());
+
+        // Retry-After: 60 outlasts the one-second refill period; the second call never left the process.
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1.0, meterRegistry.get("proverbly.providers.zenquotes.quota.upstream-rejections").counter().count());
+        assertEquals(1.0, meterRegistry.get("proverbly.providers.zenquotes.quota.rejected")
+                .tag("priority", "interactive").counter().count());
+    }
+
+    @Test
+    void spentQuotaFallsBackWithoutTrippingTheCircuit() {
+        ZenQuotesRateLimiter limiter = new ZenQuotesRateLimiter(meterRegistry, 1, Duration.ofHours(1), 0);
+        ZenQuotesProvider zenQuotes = new ZenQuotesProvider(client(limiter, HttpStatus.OK), limiter);
+        OfflineQuoteProvider offline = new OfflineQuoteProvider(WebClient.builder()
+                .exchangeFunction(request -> Mono.just(json(HttpStatus.OK, "{\"quote\":\"Local\",\"author\":\"Pool\"}")))
+                .build());
+        QuoteProviderRouter router = new QuoteProviderRouter(List.of(zenQuotes, offline), HedgePolicy.disabled(),
+                meterRegistry, Duration.ofSeconds(1), 1, Duration.ofMinutes(1));
+
+        assertEquals(ZenQuotesProvider.NAME, router.fetchOne().block().getSource());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(OfflineQuoteProvider.NAME, router.fetchOne().block().getSource());
+        }
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(ProviderHealth.State.CLOSED, router.health().get(0).state());
+    }
+
+    private WebClient client(ZenQuotesRateLimiter limiter, HttpStatus status) {
+        return WebClient.builder()
+                .filter(limiter)
+                .exchangeFunction(request -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.just(json(status, "[{\"q\":\"Upstream quote\",\"a\":\"Someone\",\"h\":\"\"}]"));
+                })
+                .build();
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header("Content-Type", "application/json")
+                .header("Retry-After", "60")
+                .body(Flux.just(new DefaultDataBufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))))
+                .build();
+    }
+}
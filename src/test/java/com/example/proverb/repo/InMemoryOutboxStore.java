@@ -0,0 +1,119 @@
+package com.example.proverb.repo;
+
+import com.example.proverb.model.OutboxMessage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link OutboxStore} over a map, with the same lease rules as {@link JdbcOutboxStore}: one lock
+ * stands in for {@code SKIP LOCKED}, since a claim only ever sees rows nobody else holds.
+ */
+public class InMemoryOutboxStore implements OutboxStore {
+
+    private final Map<Long, OutboxMessage> rows = new LinkedHashMap<>();
+    private final Map<String, Long> keys = new HashMap<>();
+    private long nextId = 1;
+
+    @Override
+    public synchronized int enqueue(List<Entry> entries, LocalDateTime now) {
+        int added = 0;
+        for (Entry entry : entries) {
+            if (keys.containsKey(entry.idempotencyKey())) {
+                continue;
+            }
+            long id = nextId++;
+            rows.put(id, new OutboxMessage(id, entry.idempotencyKey(), entry.channelId(), entry.body(),
+                    OutboxMessage.Status.PENDING, 0, now, null, null, now, null));
+            keys.put(entry.idempotencyKey(), id);
+            added++;
+        }
+        return added;
+    }
+
+    @Override
+    public synchronized List<Claimed> claim(String token, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<OutboxMessage> due = rows.values().stream()
+                .filter(row -> row.getStatus() == OutboxMessage.Status.PENDING && !row.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(OutboxMessage::getNextAttemptAt).thenComparing(OutboxMessage::getId))
+                .limit(limit)
+                .toList();
+        List<Claimed> claimed = new ArrayList<>(due.size());
+        for (OutboxMessage row : due) {
+            row.setLeaseOwner(token);
+            row.setNextAttemptAt(leaseUntil);
+            claimed.add(new Claimed(row.getId(), row.getChannelId(), row.getBody(), row.getAttempts()));
+        }
+        return claimed;
+    }
+
+    @Override
+    public synchronized void markDelivered(String token, List<Long> ids, LocalDateTime now) {
+        for (OutboxMessage row : leased(token, ids)) {
+            row.setStatus(OutboxMessage.Status.DELIVERED);
+            row.setDeliveredAt(now);
+            row.setLeaseOwner(null);
+        }
+    }
+
+    @Override
+    public synchronized void reschedule(String token, List<Retry> retries) {
+        for (Retry retry : retries) {
+            OutboxMessage row = rows.get(retry.id());
+            if (row != null && token.equals(row.getLeaseOwner())) {
+                row.setNextAttemptAt(retry.nextAttemptAt());
+                row.setAttempts(row.getAttempts() + (retry.failed() ? 1 : 0));
+                row.setLastError(retry.error());
+                row.setLeaseOwner(null);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void markDead(String token, List<Long> ids, String error) {
+        for (OutboxMessage row : leased(token, ids)) {
+            row.setStatus(OutboxMessage.Status.DEAD);
+            row.setAttempts(row.getAttempts() + 1);
+            row.setLastError(error);
+            row.setLeaseOwner(null);
+        }
+    }
+
+    @Override
+    public synchronized long countPending() {
+        return rows.values().stream().filter(row -> row.getStatus() == OutboxMessage.Status.PENDING).count();
+    }
+
+    /** A copy of the row stored under {@code idempotencyKey}, or {@code null}. */
+    public synchronized OutboxMessage find(String idempotencyKey) {
+        Long id = keys.get(idempotencyKey);
+        if (id == null) {
+            return null;
+        }
+        OutboxMessage row = rows.get(id);
+        return new OutboxMessage(row.getId(), row.getIdempotencyKey(), row.getChannelId(), row.getBody(), row.getStatus(),
+                row.getAttempts(), row.getNextAttemptAt(), row.getLeaseOwner(), row.getLastError(), row.getCreatedAt(),
+                row.getDeliveredAt());
+    }
+
+    /** Simulates a claim by a sender that died: the rows stay leased until {@code leaseUntil}. */
+    public synchronized void abandonLease(String token, LocalDateTime leaseUntil, int limit) {
+        claim(token, limit, LocalDateTime.MAX, leaseUntil);
+    }
+
+    private List<OutboxMessage> leased(String token, List<Long> ids) {
+        List<OutboxMessage> leased = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OutboxMessage row = rows.get(id);
+            if (row != null && token.equals(row.getLeaseOwner())) {
+                leased.add(row);
+            }
+        }
+        return leased;
+    }
+}
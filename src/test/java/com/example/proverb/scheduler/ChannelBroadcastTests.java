@@ -0,0 +1,192 @@
+package com.example.proverb.scheduler;
+
+import com.example.proverb.model.ChannelSubscription;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ChannelSubscriptionRepository;
+import com.example.proverb.repo.InMemoryOutboxStore;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.service.ProverbCatalog;
+import com.example.proverb.service.ProverbReplies;
+import com.example.proverb.service.ProverbSelector;
+import com.example.proverb.service.ProverbService;
+import com.example.proverb.telex.BroadcastDispatcher;
+import com.example.proverb.telex.OutboundMessage;
+import com.example.proverb.telex.OutboxRelay;
+import com.example.proverb.telex.TelexClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChannelBroadcastTests {
+
+    private static final int CHANNELS = 50_000;
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_IN_FLIGHT = 16;
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private final ProverbRepository proverbRepository = mock(ProverbRepository.class);
+    private final ChannelSubscriptionRepository subscriptionRepository = mock(ChannelSubscriptionRepository.class);
+    private final NavigableMap<String, ChannelSubscription> subscriptions = new TreeMap<>();
+    private final StandInTelex telex = new StandInTelex();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final ProverbCatalog catalog = new ProverbCatalog(proverbRepository, ProverbSelector.Mode.MEMORY);
+    private final InMemoryOutboxStore outbox = new InMemoryOutboxStore();
+    private final ChannelBroadcast broadcast;
+    private final OutboxRelay relay;
+
+    ChannelBroadcastTests() {
+        List<Proverb> rows = new ArrayList<>();
+        for (int i = 1; i <= 200; i++) {
+            rows.add(proverb(i, i % 2 == 0 ? "Yoruba" : "Igbo", i % 4 == 1 ? "An imported quote" : "Local wisdom " + i));
+        }
+        when(proverbRepository.findAll(any(Sort.class))).thenReturn(rows);
+        when(subscriptionRepository.findByActiveTrueAndChannelIdGreaterThanOrderByChannelIdAsc(anyString(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Pageable page = invocation.getArgument(1);
+                    return subscriptions.tailMap(invocation.getArgument(0), false).values().stream()
+                            .filter(ChannelSubscription::isActive)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+
+        // Room for the relay's worker loops next to the batches they keep in flight.
+        executor.setCorePoolSize(MAX_IN_FLIGHT + 2);
+        executor.setMaxPoolSize(MAX_IN_FLIGHT + 2);
+        executor.setQueueCapacity(MAX_IN_FLIGHT * 2);
+        executor.initialize();
+        BroadcastDispatcher dispatcher = new BroadcastDispatcher(telex, executor, new SimpleMeterRegistry(),
+                BATCH_SIZE, MAX_IN_FLIGHT, 200_000, Duration.ofMinutes(10), 1_000_000);
+        broadcast = new ChannelBroadcast(subscriptionRepository, outbox, catalog, mock(ProverbService.class),
+                new ProverbReplies(catalog, new SimpleMeterRegistry(), 1000), 32, 1000);
+        // Two worker loops, each claiming half the broadcast, share the executor's MAX_IN_FLIGHT batch threads.
+        relay = new OutboxRelay(outbox, dispatcher, executor, new SimpleMeterRegistry(), 2, CHANNELS / 2,
+                Duration.ofMinutes(2), Duration.ofSeconds(10), Duration.ofMinutes(30), 10, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void deliversFiftyThousandChannelsWithBoundedConcurrency() throws Exception {
+        for (int i = 0; i < CHANNELS; i++) {
+            String language = switch (i % 3) {
+                case 0 -> "yoruba";
+                case 1 -> "igbo";
+                default -> null;
+            };
+            subscribe(String.format("channel-%05d", i), language, true);
+        }
+        subscribe("channel-99999", null, false);
+        telex.failing.add("channel-00042");
+
+        int queued = broadcast.enqueue(Session.AFTERNOON, TODAY);
+        int delivered = relay.drain();
+
+        assertThat(queued).isEqualTo(CHANNELS);
+        assertThat(delivered).isEqualTo(CHANNELS - 1);
+        assertThat(outbox.find("channel-00042|AFTERNOON|" + TODAY).getAttempts()).isEqualTo(1);
+        assertThat(telex.delivered).hasSize(CHANNELS - 1).doesNotContainKey("channel-99999");
+        // Full batches only, several of them in flight at once, and never more than the two
+        // worker loops' dispatchers allow between them.
+        assertThat(telex.batches.get()).isEqualTo(CHANNELS / BATCH_SIZE);
+        assertThat(telex.peakInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(2 * MAX_IN_FLIGHT);
+
+        // Channels get their own language; the afternoon slot prefers local proverbs.
+        assertThat(telex.delivered.get("channel-00000")).contains("Yoruba").contains("Afternoon Nigerian Proverb");
+        assertThat(telex.delivered.get("channel-00001")).contains("Igbo");
+
+        // Running the session again (a catch-up after restart) queues and sends nothing twice.
+        assertThat(broadcast.enqueue(Session.AFTERNOON, TODAY)).isZero();
+        assertThat(relay.drain()).isZero();
+    }
+
+    @Test
+    void picksFollowTheSessionAndSpreadAcrossThePool() {
+        BroadcastPool morning = broadcast.pool(Session.MORNING, LocalDate.of(2025, 1, 1), LocalTime.NOON);
+        ChannelSubscription channel = new ChannelSubscription("channel-a", null, true, null);
+
+        assertThat(morning.messageFor(channel)).contains("Morning Inspiration Quote").contains("imported quote")
+                .isSameAs(morning.messageFor(channel));
+
+        long distinct = IntStream.range(0, 1000)
+                .mapToObj(i -> morning.messageFor(new ChannelSubscription("c" + i, "yoruba", true, null)))
+                .distinct()
+                .count();
+        assertThat(distinct).isEqualTo(32);
+    }
+
+    private void subscribe(String channelId, String language, boolean active) {
+        subscriptions.put(channelId, new ChannelSubscription(channelId, language, active, null));
+    }
+
+    private static Proverb proverb(long id, String language, String meaning) {
+        Proverb proverb = new Proverb();
+        proverb.setId(id);
+        proverb.setLanguage(language);
+        proverb.setProverb(language + " proverb " + id);
+        proverb.setMeaning(meaning);
+        return proverb;
+    }
+
+    /** A Telex stand-in with 5 ms of latency per batch call. */
+    private static final class StandInTelex implements TelexClient {
+
+        final Map<String, String> delivered = new ConcurrentHashMap<>();
+        final Set<String> failing = ConcurrentHashMap.newKeySet();
+        final AtomicInteger batches = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+
+        @Override
+        public boolean sendMessage(String message) {
+            return true;
+        }
+
+        @Override
+        public List<OutboundMessage> sendMessages(List<OutboundMessage> messages) {
+            batches.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return messages;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            List<OutboundMessage> undelivered = new ArrayList<>();
+            for (OutboundMessage message : messages) {
+                if (failing.contains(message.channelId())) {
+                    undelivered.add(message);
+                } else {
+                    delivered.put(message.channelId(), message.text());
+                }
+            }
+            return undelivered;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.model.SeedState;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.repo.SeedStateRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSeederTests {
+
+    private final Map<String, Proverb> stored = new HashMap<>();
+    private final Map<String, SeedState> seedStates = new HashMap<>();
+    private final List<Integer> insertBatches = new ArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final SeedStateRepository seedStateRepository = mock(SeedStateRepository.class);
+    private final ProverbCatalog catalog = mock(ProverbCatalog.class);
+
+    @TempDir
+    Path dir;
+
+    CatalogSeederTests() {
+        when(repository.findByContentHashIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> hashes = invocation.getArgument(0);
+            return hashes.stream().map(stored::get).filter(p -> p != null).toList();
+        });
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<Proverb> rows = invocation.getArgument(0);
+            int size = 0;
+            for (Proverb row : rows) {
+                row.setId(ids.incrementAndGet());
+                stored.put(row.getContentHash(), row);
+                size++;
+            }
+            insertBatches.add(size);
+            return List.copyOf(stored.values());
+        });
+        when(seedStateRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(seedStates.get(invocation.<String>getArgument(0))));
+        when(seedStateRepository.save(any(SeedState.class))).thenAnswer(invocation -> {
+            SeedState state = invocation.getArgument(0);
+            seedStates.put(state.getSource(), state);
+            return state;
+        });
+    }
+
+    @Test
+    void bundledFileIsStreamedInBatchesWithoutDuplicates() throws IOException {
+        CatalogSeeder.SeedResult result = seeder("classpath:proverbs.json", 100).seed();
+
+        assertEquals(565, result.entries());
+        assertEquals(stored.size(), result.inserted());
+        assertTrue(stored.size() <= 364, "stored " + stored.size());
+        assertTrue(insertBatches.stream().allMatch(size -> size <= 100), "batches " + insertBatches);
+        verify(catalog).reload();
+    }
+
+    @Test
+    void unchangedFileIsSkippedByChecksum() throws IOException {
+        CatalogSeeder seeder = seeder("classpath:proverbs.json", 500);
+        seeder.seed();
+        insertBatches.clear();
+        clearInvocations(repository);
+
+        CatalogSeeder.SeedResult second = seeder.seed();
+
+        assertEquals(0, second.entries());
+        assertTrue(insertBatches.isEmpty());
+        verify(repository, never()).findByContentHashIsNullAndIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void changedFileUpsertsOnlyNewAndChangedEntries() throws IOException {
+        Path file = dir.resolve("proverbs.json");
+        write(file, entry("English", "Look before you leap.", "Think first."),
+                entry("Yoruba", "Ìwà l'ẹwà.", "Character is beauty."));
+        CatalogSeeder seeder = seeder("file:" + file, 500);
+        seeder.seed();
+
+        write(file, entry("English", "Look before you leap.", "Consider the consequences first."),
+                entry("Yoruba", "Ìwà l'ẹwà.", "Character is beauty."),
+                entry("Igbo", "Onye wetara oji wetara ndụ.", "Who brings kola brings life."));
+        CatalogSeeder.SeedResult result = seeder.seed();
+
+        assertEquals(3, result.entries());
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.unchanged());
+        assertEquals("Consider the consequences first.",
+                stored.get(ContentHash.ofProverb("english", "look before you leap")).getMeaning());
+    }
+
+    private CatalogSeeder seeder(String location, int batchSize) {
+        when(repository.findByContentHashIsNullAndIdGreaterThanOrderByIdAsc(any(), any())).thenReturn(List.of());
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new CatalogSeeder(repository, seedStateRepository, catalog, new DefaultResourceLoader(),
+                new ObjectMapper(), new TransactionTemplate(transactionManager), location, batchSize);
+    }
+
+    private static String entry(String language, String proverb, String meaning) {
+        return "{\"language\":\"" + language + "\",\"proverb\":\"" + proverb
+                + "\",\"translation\":\"N/A\",\"meaning\":\"" + meaning + "\",\"timeOfDay\":\"MORNING\"}";
+    }
+
+    private static void write(Path file, String... entries) throws IOException {
+        Files.writeString(file, "[" + String.join(",", entries) + "]", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CatalogSnapshotTests {
+
+    @Test
+    void keysetPagesWalkTheWholeCatalogOnce() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(rows(25), 1, 1);
+
+        List<Long> seen = new ArrayList<>();
+        long after = 0;
+        int pages = 0;
+        while (true) {
+            ProverbPage page = snapshot.page(null, after, 10);
+            page.items().forEach(p -> seen.add(p.getId()));
+            pages++;
+            if (page.nextCursor() == null) {
+                break;
+            }
+            after = page.nextCursor();
+        }
+
+        assertEquals(3, pages);
+        assertEquals(25, seen.size());
+        assertEquals(seen.stream().distinct().sorted().toList(), seen);
+    }
+
+    @Test
+    void languageFilterPagesWithinThatLanguage() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(rows(25), 1, 1);
+
+        ProverbPage first = snapshot.page("YORUBA", 0, 5);
+        ProverbPage second = snapshot.page("yoruba", first.nextCursor(), 5);
+
+        assertEquals(List.of(3L, 6L, 9L, 12L, 15L), first.items().stream().map(Proverb::getId).toList());
+        assertEquals(List.of(18L, 21L, 24L), second.items().stream().map(Proverb::getId).toList());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void cursorBetweenIdsStartsAtTheNextRow() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(rows(25), 1, 1);
+
+        assertEquals(List.of(4L, 5L), snapshot.page("english", 3, 2).items().stream().map(Proverb::getId).toList());
+        assertEquals(0, snapshot.page(null, 1_000, 10).items().size());
+    }
+
+    private static List<Proverb> rows(int count) {
+        List<Proverb> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            Proverb proverb = new Proverb();
+            proverb.setId(id);
+            proverb.setLanguage(id % 3 == 0 ? "Yoruba" : "English");
+            proverb.setProverb("Proverb " + id);
+            rows.add(proverb);
+        }
+        return rows;
+    }
+}
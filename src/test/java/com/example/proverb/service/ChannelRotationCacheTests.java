@@ -0,0 +1,48 @@
+package com.example.proverb.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelRotationCacheTests {
+
+    private final ChannelRotationCache cache =
+            new ChannelRotationCache(new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+    @Test
+    void channelsRotateIndependently() {
+        int size = 130;
+        Set<Integer> first = new HashSet<>();
+        Set<Integer> second = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            assertTrue(first.add(cache.next("channel-a", "ALL", size, 1)));
+            assertTrue(second.add(cache.next("channel-b", "ALL", size, 1)));
+        }
+        assertEquals(size, first.size());
+        assertEquals(size, second.size());
+
+        Set<Integer> nextCycle = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            assertTrue(nextCycle.add(cache.next("channel-a", "ALL", size, 1)));
+        }
+    }
+
+    @Test
+    void growthKeepsShownOrdinals() {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            seen.add(cache.next("channel-a", "YORUBA", 60, 1));
+        }
+        for (int i = 0; i < 10; i++) {
+            int ordinal = cache.next("channel-a", "YORUBA", 70, 1);
+            assertTrue(ordinal >= 60 && seen.add(ordinal), "only the added ordinals are unshown");
+        }
+        assertEquals(70, seen.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.proverb.service;
+
+import com.example.proverb.dto.TelexReply;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProverbRepliesTests {
+
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final List<Proverb> rows = new ArrayList<>();
+    private final ProverbCatalog catalog = new ProverbCatalog(repository, ProverbSelector.Mode.MEMORY);
+    private final ProverbReplies replies = new ProverbReplies(catalog, new SimpleMeterRegistry(), 100);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ProverbRepliesTests() {
+        when(repository.findAll(any(Sort.class))).thenAnswer(invocation -> List.copyOf(rows));
+        rows.add(proverb(1, "Character is beauty."));
+    }
+
+    @Test
+    void rendersOncePerGenerationAndEncodesTheSameJsonAsPlainSerialization() throws Exception {
+        ProverbReplies.Rendered chat = replies.render(rows.get(0), ProverbReplies.Style.CHAT);
+
+        assertThat(chat.text()).isEqualTo("🪶 Yoruba Proverb:\n\nÌwà l'ẹwà\n\nMeaning:\nCharacter is beauty.");
+        assertThat(replies.render(rows.get(0), ProverbReplies.Style.CHAT)).isSameAs(chat);
+        assertThat(objectMapper.writeValueAsString(chat.reply()))
+                .isEqualTo(objectMapper.writeValueAsString(TelexReply.inChannel(chat.text())));
+        assertThat(replies.render(rows.get(0), ProverbReplies.Style.INSPIRATION).reply().type()).isEqualTo("proverb");
+        assertThat(replies.render(rows.get(0), ProverbReplies.Style.DIGEST).reply()).isNull();
+
+        // A publish keeps renderings; a reload, which may carry edited rows, renders afresh.
+        catalog.publish(proverb(2, "Another."));
+        assertThat(replies.render(rows.get(0), ProverbReplies.Style.CHAT)).isSameAs(chat);
+        rows.set(0, proverb(1, "Good character is beauty."));
+        catalog.reload();
+        assertThat(replies.render(rows.get(0), ProverbReplies.Style.CHAT).text()).endsWith("Good character is beauty.");
+    }
+
+    private static Proverb proverb(long id, String meaning) {
+        Proverb proverb = new Proverb();
+        proverb.setId(id);
+        proverb.setLanguage("Yoruba");
+        proverb.setProverb("Ìwà l'ẹwà");
+        proverb.setMeaning(meaning);
+        return proverb;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.proverb.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProverbRotationTests {
+
+    private final ProverbRotation rotation = new ProverbRotation();
+
+    @Test
+    void everyCycleIsAPermutation() {
+        int size = 37;
+        for (int cycle = 0; cycle < 20; cycle++) {
+            Set<Integer> seen = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                assertTrue(seen.add(rotation.next("ALL", size, 1)), "repeat within cycle " + cycle);
+            }
+        }
+    }
+
+    @Test
+    void growingCatalogContinuesTheCurrentCycle() {
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            seen.add(rotation.next("YORUBA", 10, 1));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(seen.add(rotation.next("YORUBA", 15, 1)));
+        }
+        assertEquals(15, seen.size());
+    }
+
+    @Test
+    void newGenerationStartsAFreshCycle() {
+        for (int i = 0; i < 3; i++) {
+            rotation.next("IGBO", 10, 1);
+        }
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            int ordinal = rotation.next("IGBO", 4, 2);
+            assertTrue(ordinal < 4);
+            assertTrue(seen.add(ordinal));
+        }
+    }
+
+    @Test
+    void concurrentDrawsNeverRepeatWithinACycle() throws Exception {
+        int size = 101;
+        int cycles = 500;
+        int threads = 8;
+        int totalDraws = size * cycles;
+
+        AtomicInteger remaining = new AtomicInteger(totalDraws);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                int[] counts = new int[size];
+                start.await();
+                while (remaining.getAndDecrement() > 0) {
+                    counts[rotation.next("ALL", size, 1)]++;
+                }
+                return counts;
+            }));
+        }
+        start.countDown();
+
+        int[] totals = new int[size];
+        for (Future<int[]> result : results) {
+            int[] counts = result.get(30, TimeUnit.SECONDS);
+            for (int i = 0; i < size; i++) {
+                totals[i] += counts[i];
+            }
+        }
+        pool.shutdown();
+
+        // Each completed cycle hands out every ordinal exactly once, so after a whole number
+        // of cycles every ordinal must have been drawn exactly `cycles` times.
+        for (int i = 0; i < size; i++) {
+            assertEquals(cycles, totals[i], "ordinal " + i);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProverbSearchTests {
+
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final List<Proverb> rows = new ArrayList<>();
+    private final ProverbCatalog catalog = new ProverbCatalog(repository, ProverbSelector.Mode.MEMORY);
+    private final ProverbSearch search = new ProverbSearch(catalog, mock(ProverbCursor.class), repository);
+
+    ProverbSearchTests() {
+        when(repository.findAll(any(Sort.class))).thenAnswer(invocation -> List.copyOf(rows));
+        rows.add(proverb(1, "Yoruba", "Ìwà l'ẹwà.", "Character is beauty.", "Good conduct matters more than looks."));
+        rows.add(proverb(2, "Igbo", "Onye ndidi na-eri azụ ukpo.", "The patient one eats the fish.",
+                "Patience is rewarded; patience brings what haste cannot."));
+        rows.add(proverb(3, "Hausa", "Sannu sannu bata hana zuwa.", "Slowly slowly does not stop arrival.",
+                "Patience gets you there, though slowly, in the long course of a long journey through many towns."));
+        rows.add(proverb(4, "English", "Look before you leap.", "N/A", "Think first."));
+    }
+
+    @Test
+    void toneMarksAndCaseDoNotAffectMatching() {
+        assertEquals(List.of("iwa", "l", "ewa"), SearchTokenizer.tokenize("Ìwà l'ẸWÀ"));
+        assertEquals(1L, search.search("iwa lewa ewa", null, 5).get(0).getId());
+        assertEquals(1L, search.search("ÌWÀ", null, 5).get(0).getId());
+        assertEquals(2L, search.search("azu", null, 5).get(0).getId());
+    }
+
+    @Test
+    void rankingFavoursDenserShorterMatchesAndHonoursLanguage() {
+        List<Proverb> hits = search.search("patience", null, 5);
+        assertEquals(List.of(2L, 3L), hits.stream().map(Proverb::getId).toList());
+
+        assertEquals(List.of(3L), search.search("patience", "hausa", 5).stream().map(Proverb::getId).toList());
+        assertTrue(search.search("the of and", null, 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> search.search(" ", null, 5));
+    }
+
+    @Test
+    void newRowsAreIndexedIncrementallyAndReloadsRebuild() {
+        assertTrue(search.search("kindness", null, 5).isEmpty());
+
+        Proverb added = proverb(5, "Efik", "Udeme kiet", "One finger", "Kindness shared is kindness returned.");
+        catalog.publish(added);
+        assertEquals(List.of(5L), search.search("kindness", null, 5).stream().map(Proverb::getId).toList());
+
+        rows.clear();
+        rows.add(added);
+        catalog.reload();
+        assertTrue(search.search("patience", null, 5).isEmpty());
+        assertEquals(1, search.search("kindness", null, 5).size());
+    }
+
+    @Test
+    void readersAreServedTheBuiltIndexWhileAnotherRequestRebuilds() throws Exception {
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+        ProverbSearch slow = new ProverbSearch(catalog, mock(ProverbCursor.class), repository) {
+            @Override
+            SearchIndex newIndex() {
+                if (builds.incrementAndGet() > 1) {
+                    rebuilding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.newIndex();
+            }
+        };
+        assertEquals(1, slow.search("patience", "hausa", 5).size());
+
+        catalog.reload();
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Proverb>> first = rebuilder.submit(() -> slow.search("patience", "hausa", 5));
+            assertTrue(rebuilding.await(5, TimeUnit.SECONDS));
+
+            assertEquals(List.of(3L), slow.search("patience", "hausa", 5).stream().map(Proverb::getId).toList());
+
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            release.countDown();
+            rebuilder.shutdownNow();
+        }
+    }
+
+    @Test
+    void databaseModeIndexesRowsPublishedBelowTheTail() {
+        List<Proverb> stored = new ArrayList<>(rows);
+        when(repository.findMaxId()).thenAnswer(invocation -> stored.stream().mapToLong(Proverb::getId).max().orElse(0));
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+            return stored.stream().filter(p -> ids.contains(p.getId())).toList();
+        });
+        ProverbCursor cursor = mock(ProverbCursor.class);
+        doAnswer(invocation -> {
+            long after = invocation.getArgument(1);
+            Consumer<Proverb> consumer = invocation.getArgument(2);
+            stored.stream().filter(p -> p.getId() > after).sorted(Comparator.comparing(Proverb::getId)).forEach(consumer);
+            return null;
+        }).when(cursor).forEach(isNull(), anyLong(), any());
+        ProverbCatalog databaseCatalog = new ProverbCatalog(repository, ProverbSelector.Mode.DATABASE);
+        ProverbSearch databaseSearch = new ProverbSearch(databaseCatalog, cursor, repository);
+        assertEquals(List.of(2L, 3L), databaseSearch.search("patience", null, 5).stream().map(Proverb::getId).toList());
+
+        // Pooled sequence ids: 20 commits and is indexed before 10 does; 10 must still be indexed.
+        Proverb high = proverb(20, "Efik", "Udeme kiet", "One finger", "Kindness shared is kindness returned.");
+        Proverb low = proverb(10, "Twi", "Obi nkyere abofra Nyame", "No one shows a child God", "Kindness is innate.");
+        stored.add(high);
+        databaseCatalog.publish(high);
+        assertEquals(List.of(20L), databaseSearch.search("kindness", null, 5).stream().map(Proverb::getId).toList());
+
+        stored.add(low);
+        databaseCatalog.publish(low);
+        assertEquals(List.of(10L, 20L), databaseSearch.search("kindness", null, 5).stream()
+                .map(Proverb::getId).sorted().toList());
+    }
+
+    private static Proverb proverb(long id, String language, String text, String translation, String meaning) {
+        Proverb proverb = new Proverb();
+        proverb.setId(id);
+        proverb.setLanguage(language);
+        proverb.setProverb(text);
+        proverb.setTranslation(translation);
+        proverb.setMeaning(meaning);
+        return proverb;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.proverb.service;
+
+import com.example.proverb.exception.ResourceNotFoundException;
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProverbSimilarityTests {
+
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final List<Proverb> rows = new ArrayList<>();
+    private final ProverbCatalog catalog = new ProverbCatalog(repository, ProverbSelector.Mode.MEMORY);
+    private final ProverbSimilarity similarity = new ProverbSimilarity(catalog, mock(ProverbCursor.class), repository, 0.2);
+
+    ProverbSimilarityTests() {
+        when(repository.findAll(any(Sort.class))).thenAnswer(invocation -> List.copyOf(rows));
+        rows.add(proverb(1, "Yoruba", "Sùúrù ni baba ìwà.", "Patience is the father of character.",
+                "Patience is the root of good character; the patient person achieves what they seek."));
+        rows.add(proverb(2, "Igbo", "Onye ndidi na-eri azụ ukpo.", "The patient one eats the fish.",
+                "Patience is rewarded; the patient person achieves what they seek in time."));
+        rows.add(proverb(3, "Yoruba", "Sùúrù ló ń mú ẹ̀dá dé ibi rere.", "Patience leads a person to good places.",
+                "Patience is the root of good things; the patient person achieves what they seek."));
+        rows.add(proverb(4, "Hausa", "Ruwa ba ya tsami banza.", "Water does not sour for nothing.",
+                "Every event has a cause behind it."));
+    }
+
+    @Test
+    void findsTheSameMeaningAcrossLanguages() {
+        assertEquals(List.of(2L), ids(similarity.similar(1, 5, true)));
+        assertEquals(3L, similarity.similar(1, 5, false).get(0).getId());
+        assertTrue(similarity.similar(4, 5, true).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> similarity.similar(99, 5, true));
+        assertThrows(IllegalArgumentException.class, () -> similarity.similar(1, 0, true));
+    }
+
+    @Test
+    void newRowsAreIndexedIncrementally() {
+        assertTrue(similarity.similar(4, 5, true).isEmpty());
+
+        catalog.publish(proverb(5, "Efik", "Mmọn ikemeke...", "N/A", "Every event has a cause behind it, always."));
+        assertEquals(List.of(5L), ids(similarity.similar(4, 5, true)));
+    }
+
+    @Test
+    void bandedCandidatesRecallNearlyAllCloseBruteForcePairs() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[400];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+        List<String> texts = new ArrayList<>();
+        MinHashIndex index = new MinHashIndex();
+        for (int doc = 0; doc < 1_000; doc++) {
+            String text;
+            if (doc % 2 == 1) {
+                // A near-duplicate of the previous document: one or two words swapped out.
+                String[] words = texts.get(doc - 1).split(" ");
+                int edits = 1 + random.nextInt(2);
+                for (int e = 0; e < edits; e++) {
+                    words[random.nextInt(words.length)] = vocabulary[random.nextInt(vocabulary.length)];
+                }
+                text = String.join(" ", words);
+            } else {
+                StringBuilder builder = new StringBuilder();
+                for (int w = 0; w < 12; w++) {
+                    builder.append(w == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+                }
+                text = builder.toString();
+            }
+            texts.add(text);
+            assertTrue(index.add(doc, doc % 4 == 0 ? "yoruba" : "igbo", text));
+        }
+
+        List<Set<String>> shingles = texts.stream().map(ProverbSimilarityTests::shingles).toList();
+        int relevant = 0;
+        int found = 0;
+        for (int doc = 0; doc < texts.size(); doc++) {
+            Set<Long> candidates = new HashSet<>();
+            index.similar(doc, texts.size(), 0.0, false).forEach(match -> candidates.add(match.id()));
+            for (int other = 0; other < texts.size(); other++) {
+                if (other != doc && jaccard(shingles.get(doc), shingles.get(other)) >= 0.5) {
+                    relevant++;
+                    if (candidates.contains((long) other)) {
+                        found++;
+                    }
+                }
+            }
+        }
+        assertTrue(relevant >= texts.size() / 2, "the corpus should contain near-duplicate pairs");
+        assertTrue(found >= relevant * 0.95, "recall " + found + "/" + relevant);
+        assertFalse(index.add(9_999, null, "the of and"));
+    }
+
+    @Test
+    void topMatchesAgreeWithAnExactScan() {
+        // Every fifth document paraphrases an earlier one in another language, a few words swapped,
+        // over a Zipf-distributed vocabulary: the corpus SimilarityIndexBenchmark times, scaled down.
+        String[] languages = {"yoruba", "igbo", "hausa", "efik", "ibibio", "english"};
+        Random random = new Random(42);
+        String[] vocabulary = new String[2_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+        int documents = 5_000;
+        List<String> texts = new ArrayList<>(documents);
+        List<Set<String>> shingles = new ArrayList<>(documents);
+        MinHashIndex index = new MinHashIndex();
+        for (int doc = 0; doc < documents; doc++) {
+            String[] words;
+            if (doc % 5 == 4) {
+                words = texts.get(random.nextInt(doc)).split(" ");
+                int edits = 1 + random.nextInt(4);
+                for (int e = 0; e < edits; e++) {
+                    words[random.nextInt(words.length)] = vocabulary[zipf(random, vocabulary.length)];
+                }
+            } else {
+                words = new String[8 + random.nextInt(12)];
+                for (int w = 0; w < words.length; w++) {
+                    words[w] = vocabulary[zipf(random, vocabulary.length)];
+                }
+            }
+            String text = String.join(" ", words);
+            texts.add(text);
+            shingles.add(shingles(text));
+            index.add(doc, languages[doc % languages.length], text);
+        }
+
+        int k = 5;
+        int relevant = 0;
+        int found = 0;
+        int close = 0;
+        int closeFound = 0;
+        for (int q = 0; q < 200; q++) {
+            int doc = random.nextInt(documents);
+            List<Long> approximate = index.similar(doc, k, 0.2, true).stream().map(MinHashIndex.Match::id).toList();
+            List<double[]> exact = new ArrayList<>();
+            for (int other = 0; other < documents; other++) {
+                if (other % languages.length != doc % languages.length) {
+                    double similarity = jaccard(shingles.get(doc), shingles.get(other));
+                    if (similarity >= 0.2) {
+                        exact.add(new double[]{similarity, other});
+                    }
+                }
+            }
+            exact.sort((a, b) -> Double.compare(b[0], a[0]));
+            for (double[] match : exact.subList(0, Math.min(k, exact.size()))) {
+                boolean hit = approximate.contains((long) match[1]);
+                relevant++;
+                found += hit ? 1 : 0;
+                if (match[0] >= 0.4) {
+                    close++;
+                    closeFound += hit ? 1 : 0;
+                }
+            }
+        }
+        assertTrue(close >= 20, "the corpus should contain close paraphrases");
+        // The neighbours a user would call the same proverb are all but always found; weak ones
+        // near the 0.2 cut-off are left to chance by the banding, but not dropped wholesale.
+        assertTrue(closeFound >= close * 0.95, "recall@5 for Jaccard >= 0.4: " + closeFound + "/" + close);
+        assertTrue(found >= relevant * 0.4, "recall@5: " + found + "/" + relevant);
+    }
+
+    private static int zipf(Random random, int size) {
+        return (int) Math.min(size - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(size))) - 1);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(5)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    /** The same character 4-grams {@link MinHashIndex} hashes, kept as strings for an exact Jaccard. */
+    static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        for (String term : SearchTokenizer.tokenize(text)) {
+            String padded = ' ' + term + ' ';
+            for (int start = 0; start <= Math.max(0, padded.length() - 4); start++) {
+                shingles.add(padded.substring(start, Math.min(padded.length(), start + 4)));
+            }
+        }
+        return shingles;
+    }
+
+    static double jaccard(Set<String> a, Set<String> b) {
+        int common = 0;
+        for (String shingle : a) {
+            if (b.contains(shingle)) {
+                common++;
+            }
+        }
+        return common / (double) (a.size() + b.size() - common);
+    }
+
+    private static List<Long> ids(List<Proverb> proverbs) {
+        return proverbs.stream().map(Proverb::getId).toList();
+    }
+
+    private static Proverb proverb(long id, String language, String text, String translation, String meaning) {
+        Proverb proverb = new Proverb();
+        proverb.setId(id);
+        proverb.setLanguage(language);
+        proverb.setProverb(text);
+        proverb.setTranslation(translation);
+        proverb.setMeaning(meaning);
+        return proverb;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbCursor;
+import com.example.proverb.repo.ProverbRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuoteDeduplicatorTests {
+
+    private final ProverbCatalog catalog = mock(ProverbCatalog.class);
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final QuoteDeduplicator deduplicator =
+            new QuoteDeduplicator(catalog, mock(ProverbCursor.class), repository, new SimpleMeterRegistry(), 10_000, 0.001);
+
+    @Test
+    void normalizedDuplicatesAreRejectedOnceStored() {
+        String hash = ContentHash.ofQuote("The best way out is always through.");
+        when(repository.findExistingContentHashes(anyCollection())).thenReturn(List.of(hash));
+
+        assertTrue(deduplicator.admit(hash));
+        // Admitting is not storing: a quote dropped before its save stays admissible.
+        assertTrue(deduplicator.admit(hash));
+
+        deduplicator.recordStored(hash);
+        assertFalse(deduplicator.admit(ContentHash.ofQuote("  the best way   out is always through ")));
+        assertFalse(deduplicator.admit(ContentHash.ofQuote("“The best way out is always through.”")));
+        assertEquals(2.0 / 4.0, deduplicator.duplicateRatio(), 1e-9);
+    }
+
+    @Test
+    void filterPositivesAreConfirmedAgainstTheDatabase() {
+        String hash = ContentHash.ofQuote("Well begun is half done.");
+        deduplicator.recordStored(hash);
+        // The filter says "maybe stored", but the row is gone (or never was): admit it.
+        when(repository.findExistingContentHashes(anyCollection())).thenReturn(List.of());
+
+        assertTrue(deduplicator.admit(hash));
+    }
+
+    @Test
+    void seedingCoversStoredQuotes() {
+        Proverb stored = new Proverb();
+        stored.setId(1L);
+        stored.setText("Well done is better than well said.");
+        when(catalog.isResident()).thenReturn(true);
+        when(catalog.snapshot()).thenReturn(CatalogSnapshot.of(List.of(stored), 1, 1));
+
+        deduplicator.seed();
+        when(repository.findExistingContentHashes(anyCollection()))
+                .thenReturn(List.of(ContentHash.ofQuote("Well done is better than well said.")));
+
+        assertFalse(deduplicator.admit(ContentHash.ofQuote("Well done is better than well said")));
+    }
+
+    @Test
+    void falsePositivesStayNearConfiguredRate() {
+        ContentBloomFilter filter = new ContentBloomFilter(10_000, 0.001);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(ContentHash.ofQuote("stored quote " + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(ContentHash.ofQuote("stored quote " + i)));
+            if (filter.mightContain(ContentHash.ofQuote("new quote " + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 30, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.proverb.service;
+
+import com.example.proverb.dto.ExternalQuote;
+import com.example.proverb.provider.HedgePolicy;
+import com.example.proverb.provider.QuoteProviderRouter;
+import com.example.proverb.provider.ZenQuotesProvider;
+import com.example.proverb.provider.ZenQuotesRateLimiter;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuotePrefetchBufferTests {
+
+    private HttpServer server;
+    private final AtomicInteger bulkCalls = new AtomicInteger();
+    private volatile IntFunction<String> bulkBody = call -> bulkResponse(call * 50, 50);
+    private volatile Duration stubLatency = Duration.ZERO;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/quotes", exchange -> {
+            int call = bulkCalls.getAndIncrement();
+            try {
+                Thread.sleep(stubLatency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = bulkBody.apply(call).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        refillExecutor.shutdownNow();
+    }
+
+    @Test
+    void refillTopsUpToHighWatermarkInBulkBatches() {
+        QuotePrefetchBuffer buffer = buffer(200, 20, 120);
+
+        buffer.refill();
+
+        assertTrue(buffer.depth() >= 120, "depth " + buffer.depth());
+        assertEquals(3, bulkCalls.get());
+        meterRegistry.get("proverbly.quotes.buffer.refill").timer();
+    }
+
+    @Test
+    void pollNeverTouchesTheNetwork() {
+        QuotePrefetchBuffer buffer = buffer(100, 0, 50);
+        buffer.refill();
+        int callsAfterRefill = bulkCalls.get();
+
+        for (int i = 0; i < 50; i++) {
+            assertNotNull(buffer.poll());
+        }
+        assertEquals(callsAfterRefill, bulkCalls.get());
+    }
+
+    @Test
+    void emptyBufferCountsUnderrunAndTriggersRefill() throws InterruptedException {
+        QuotePrefetchBuffer buffer = buffer(100, 10, 50);
+
+        assertNull(buffer.poll());
+        assertEquals(1.0, meterRegistry.get("proverbly.quotes.buffer.underruns").counter().count());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (buffer.depth() < 50 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(buffer.depth() >= 50);
+    }
+
+    @Test
+    void rateLimitPseudoQuoteIsDropped() {
+        bulkBody = call -> "[{\"q\":\"Too many requests. Obtain an auth key for unlimited access.\",\"a\":\"zenquotes.io\",\"h\":\"\"}]";
+        QuotePrefetchBuffer buffer = buffer(100, 0, 50);
+
+        buffer.refill();
+
+        assertEquals(0, buffer.depth());
+        ExternalQuote quote = buffer.poll();
+        assertNull(quote);
+    }
+
+    @Test
+    void burstOnEmptyBufferSharesInFlightRefills() {
+        stubLatency = Duration.ofMillis(200);
+        QuotePrefetchBuffer buffer = buffer(200, 50, 150, Duration.ofSeconds(20));
+        int burst = 500;
+
+        List<ExternalQuote> served = Flux.range(0, burst)
+                .flatMap(i -> buffer.next(), burst)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(burst, served.size());
+        assertEquals(burst, served.stream().map(ExternalQuote::getContent).distinct().count());
+        // One upstream call per 50 callers (plus the buffer top-up), never one per caller.
+        assertTrue(bulkCalls.get() <= burst / 50 + 4, "upstream calls " + bulkCalls.get());
+        assertTrue(meterRegistry.get("proverbly.quotes.buffer.coalesced").counter().count() > 0);
+    }
+
+    @Test
+    void waitersFallBackWhenRefillFails() {
+        bulkBody = call -> "not json";
+        QuotePrefetchBuffer buffer = buffer(100, 10, 50);
+
+        ExternalQuote quote = buffer.next().block(Duration.ofSeconds(5));
+
+        assertNull(quote);
+        assertEquals(0.0, meterRegistry.get("proverbly.quotes.buffer.wait.expired").counter().count());
+    }
+
+    @Test
+    void expiredAndCancelledWaitersLeaveTheQueue() {
+        stubLatency = Duration.ofSeconds(1);
+        QuotePrefetchBuffer buffer = buffer(100, 10, 50, Duration.ofMillis(100));
+
+        List<ExternalQuote> served = Flux.range(0, 10)
+                .flatMap(i -> buffer.next())
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        buffer.next().subscribe().dispose();
+
+        assertEquals(0, served.size());
+        assertEquals(10.0, meterRegistry.get("proverbly.quotes.buffer.wait.expired").counter().count());
+        assertEquals(0.0, meterRegistry.get("proverbly.quotes.buffer.waiters").gauge().value());
+    }
+
+    private QuotePrefetchBuffer buffer(int capacity, int low, int high) {
+        return buffer(capacity, low, high, Duration.ofSeconds(2));
+    }
+
+    private QuotePrefetchBuffer buffer(int capacity, int low, int high, Duration maxWait) {
+        WebClient client = WebClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api")
+                .build();
+        ZenQuotesRateLimiter unlimited = new ZenQuotesRateLimiter(meterRegistry, 1000, Duration.ofSeconds(1), 1);
+        QuoteProviderRouter router = new QuoteProviderRouter(List.of(new ZenQuotesProvider(client, unlimited)),
+                HedgePolicy.disabled(), meterRegistry, Duration.ofSeconds(2), 3, Duration.ofSeconds(30));
+        return new QuotePrefetchBuffer(router, refillExecutor, meterRegistry, capacity, low, high, maxWait);
+    }
+
+    private static String bulkResponse(int from, int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = from; i < from + size; i++) {
+            if (i > from) {
+                json.append(',');
+            }
+            json.append("{\"q\":\"Quote number ").append(i).append("\",\"a\":\"Author ").append(i).append("\",\"h\":\"\"}");
+        }
+        return json.append(']').toString();
+    }
+}
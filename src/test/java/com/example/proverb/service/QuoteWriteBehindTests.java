@@ -0,0 +1,179 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuoteWriteBehindTests {
+
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+    private final ProverbCatalog catalog = mock(ProverbCatalog.class);
+    private final QuoteDeduplicator deduplicator = mock(QuoteDeduplicator.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    QuoteWriteBehindTests() {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Proverb> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return List.copyOf(batch);
+        });
+    }
+
+    @Test
+    void fullBatchesAreWrittenTogether() throws InterruptedException {
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 10, Duration.ofSeconds(5));
+        writeBehind.start();
+        for (int i = 0; i < 30; i++) {
+            assertTrue(writeBehind.enqueue(quote(i)));
+        }
+        awaitWritten(30, Duration.ofSeconds(5));
+        writeBehind.shutdown();
+
+        assertEquals(List.of(10, 10, 10), batchSizes);
+    }
+
+    @Test
+    void partialBatchIsWrittenAfterMaxDelay() throws InterruptedException {
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 50, Duration.ofMillis(100));
+        writeBehind.start();
+        writeBehind.enqueue(quote(1));
+        writeBehind.enqueue(quote(2));
+
+        awaitWritten(2, Duration.ofSeconds(2));
+        writeBehind.shutdown();
+        assertEquals(List.of(2), batchSizes);
+    }
+
+    @Test
+    void fullQueueDropsInsteadOfBlocking() {
+        QuoteWriteBehind writeBehind = writeBehind(2, 10, Duration.ofSeconds(1));
+
+        assertTrue(writeBehind.enqueue(quote(1)));
+        assertTrue(writeBehind.enqueue(quote(2)));
+        assertFalse(writeBehind.enqueue(quote(3)));
+    }
+
+    @Test
+    void shutdownFlushesEverythingQueued() throws InterruptedException {
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 50, Duration.ofSeconds(30));
+        for (int i = 0; i < 120; i++) {
+            writeBehind.enqueue(quote(i));
+        }
+        writeBehind.start();
+        writeBehind.shutdown();
+
+        assertEquals(120, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, writeBehind.depth());
+        assertFalse(writeBehind.enqueue(quote(999)));
+    }
+
+    @Test
+    void storedAndRepeatedHashesAreSkipped() throws InterruptedException {
+        when(repository.findExistingContentHashes(any())).thenReturn(List.of("stored"));
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 4, Duration.ofMillis(100));
+        writeBehind.enqueue(hashed("stored"));
+        writeBehind.enqueue(hashed("new"));
+        writeBehind.enqueue(hashed("new"));
+        writeBehind.enqueue(hashed("other"));
+        writeBehind.start();
+
+        awaitWritten(2, Duration.ofSeconds(2));
+        writeBehind.shutdown();
+        assertEquals(List.of(2), batchSizes);
+        verify(deduplicator).recordStored(List.of("stored"));
+        verify(deduplicator).recordStored(List.of("new", "other"));
+    }
+
+    @Test
+    void hashesOfAFailedFlushAreNotRecordedAsStored() throws InterruptedException {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 4, Duration.ofMillis(100));
+        writeBehind.enqueue(hashed("lost"));
+        writeBehind.start();
+        writeBehind.shutdown();
+
+        verify(deduplicator, never()).recordStored(argThat((Collection<String> hashes) -> hashes.contains("lost")));
+    }
+
+    @Test
+    void aRacingDuplicateOnlyCostsItsOwnRow() throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Proverb> batch = invocation.getArgument(0);
+            batch.forEach(proverb -> proverb.setId(sequence.incrementAndGet()));
+            throw new DataIntegrityViolationException("Duplicate entry 'raced' for key 'uk_proverb_content_hash'");
+        });
+        when(repository.save(any(Proverb.class))).thenAnswer(invocation -> {
+            Proverb proverb = invocation.getArgument(0);
+            if (proverb.getId() != null) {
+                // What merge() of a detached row that was never stored does.
+                throw new ObjectOptimisticLockingFailureException(Proverb.class, proverb.getId());
+            }
+            if ("raced".equals(proverb.getContentHash())) {
+                throw new DataIntegrityViolationException("Duplicate entry 'raced' for key 'uk_proverb_content_hash'");
+            }
+            proverb.setId(sequence.incrementAndGet());
+            return proverb;
+        });
+        QuoteWriteBehind writeBehind = writeBehind(1_000, 4, Duration.ofMillis(100));
+        writeBehind.enqueue(hashed("first"));
+        writeBehind.enqueue(hashed("raced"));
+        writeBehind.enqueue(hashed("second"));
+        writeBehind.start();
+        writeBehind.shutdown();
+
+        verify(catalog).publishAll(argThat((Collection<Proverb> saved) ->
+                saved.stream().map(Proverb::getContentHash).toList().equals(List.of("first", "second"))));
+        verify(deduplicator).recordStored(List.of("first", "second"));
+        verify(deduplicator).recordLateDuplicates(1);
+    }
+
+    private QuoteWriteBehind writeBehind(int capacity, int batchSize, Duration maxDelay) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        return new QuoteWriteBehind(repository, catalog, deduplicator, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), capacity, batchSize, maxDelay, Duration.ZERO, Duration.ofSeconds(40));
+    }
+
+    private void awaitWritten(int expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (batchSizes.stream().mapToInt(Integer::intValue).sum() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Proverb hashed(String hash) {
+        Proverb proverb = quote(0);
+        proverb.setContentHash(hash);
+        return proverb;
+    }
+
+    private static Proverb quote(int i) {
+        Proverb proverb = new Proverb();
+        proverb.setText("Quote " + i);
+        return proverb;
+    }
+}
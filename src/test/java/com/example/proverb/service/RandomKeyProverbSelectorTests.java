@@ -0,0 +1,109 @@
+package com.example.proverb.service;
+
+import com.example.proverb.model.Proverb;
+import com.example.proverb.repo.ProverbRepository;
+import com.example.proverb.repo.ProverbSampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RandomKeyProverbSelectorTests {
+
+    private final ProverbSampler sampler = mock(ProverbSampler.class);
+    private final ProverbRepository repository = mock(ProverbRepository.class);
+
+    /**
+     * Stands in for the random_key index: ids ordered by a random key. The keys are seeded so the
+     * spread assertions judge the sampling, not how lumpy one particular draw of keys happens to be.
+     */
+    private void table(int rows) {
+        Random keys = new Random(rows);
+        TreeMap<Integer, Long> index = new TreeMap<>();
+        for (long id = 1; id <= rows; id++) {
+            index.put(keys.nextInt(Proverb.RANDOM_KEY_BOUND), id);
+        }
+        when(sampler.idsFrom(isNull(), anyInt(), anyInt())).thenAnswer(invocation -> {
+            int from = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return index.tailMap(from, true).values().stream().limit(limit).toList();
+        });
+        when(sampler.idsFrom(eq("klingon"), anyInt(), anyInt())).thenReturn(List.of());
+        when(repository.findById(any())).thenAnswer(invocation -> {
+            Proverb proverb = new Proverb();
+            proverb.setId(invocation.getArgument(0));
+            return Optional.of(proverb);
+        });
+    }
+
+    private RandomKeyProverbSelector selector(int window, int sampleSize) {
+        return new RandomKeyProverbSelector(sampler, repository, new SimpleMeterRegistry(),
+                window, sampleSize, 1000, Duration.ofHours(1));
+    }
+
+    @Test
+    void noRepeatsWithinTheWindowAndWholeCyclesOnSmallTables() {
+        table(10);
+        RandomKeyProverbSelector selector = selector(32, 32);
+
+        Set<Long> cycle = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cycle.add(selector.pick(null, "channel-a").getId()), "repeat within a cycle: " + cycle);
+        }
+        assertEquals(10, cycle.size());
+        // Exhausted: the next pick starts over instead of failing.
+        assertTrue(cycle.contains(selector.pick(null, "channel-a").getId()));
+
+        table(5_000);
+        List<Long> recent = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Long id = selector.pick(null, "channel-b").getId();
+            int from = Math.max(0, recent.size() - 32);
+            assertTrue(!recent.subList(from, recent.size()).contains(id), "repeat inside the window");
+            recent.add(id);
+        }
+    }
+
+    @Test
+    void picksSpreadAcrossTheTable() {
+        table(200);
+        RandomKeyProverbSelector selector = selector(0, 32);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        int picks = 50_000;
+        for (int i = 0; i < picks; i++) {
+            counts.merge(selector.pick(null, null).getId(), 1, Integer::sum);
+        }
+        assertEquals(200, counts.size());
+        double expected = picks / 200.0;
+        for (int count : counts.values()) {
+            // Averaging over a run of 32 gaps keeps every row within a small factor of 1/n.
+            assertTrue(count > expected / 2 && count < expected * 2, "count " + count + " vs " + expected);
+        }
+    }
+
+    @Test
+    void unknownLanguageHasNothingToPick() {
+        table(10);
+        assertNull(selector(32, 32).pick("Klingon", null));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.proverb.telex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BroadcastDispatcherTests {
+
+    @Test
+    void globalRateLimitPacesBatchesPastTheBurst() throws Exception {
+        TelexClient telex = new MockTelexClient();
+        // 1000 msg/s with a burst of 1000: the first 1000 go at once, the next 1000 take a second.
+        BroadcastDispatcher dispatcher = new BroadcastDispatcher(telex, new SyncTaskExecutor(), new SimpleMeterRegistry(),
+                100, 4, 1000, Duration.ofMinutes(1), 10_000);
+
+        BroadcastDispatcher.Dispatch dispatch = dispatcher.start();
+        for (int i = 0; i < 2000; i++) {
+            dispatch.submit(new OutboundMessage("channel-" + i, "hello"));
+        }
+        BroadcastDispatcher.Report report = dispatch.finish();
+
+        assertThat(report.sent()).isEqualTo(2000);
+        assertThat(report.elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(900));
+        assertThat(report.messagesPerSecond()).isLessThan(2200);
+    }
+
+    @Test
+    void aFailedBatchIsReportedWholeAndRepeatsAreThrottled() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TelexClient broken = new TelexClient() {
+            @Override
+            public boolean sendMessage(String message) {
+                return false;
+            }
+
+            @Override
+            public List<OutboundMessage> sendMessages(List<OutboundMessage> messages) {
+                throw new IllegalStateException("Telex unavailable");
+            }
+        };
+        BroadcastDispatcher dispatcher = new BroadcastDispatcher(broken, new SyncTaskExecutor(), meterRegistry,
+                10, 2, 1000, Duration.ofMinutes(1), 10_000);
+
+        BroadcastDispatcher.Dispatch dispatch = dispatcher.start();
+        dispatch.submit(new OutboundMessage("a", "one"));
+        dispatch.submit(new OutboundMessage("b", "two"));
+        dispatch.submit(new OutboundMessage("a", "again"));
+        BroadcastDispatcher.Report report = dispatch.finish();
+
+        assertThat(report.sent()).isZero();
+        assertThat(report.throttled()).extracting(OutboundMessage::text).containsExactly("again");
+        assertThat(report.failed()).extracting(OutboundMessage::channelId).containsExactly("a", "b");
+        assertThat(meterRegistry.get("proverbly.broadcast.messages").tag("outcome", "failed").counter().count()).isEqualTo(2.0);
+    }
+}
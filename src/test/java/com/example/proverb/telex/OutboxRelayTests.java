@@ -0,0 +1,150 @@
+package com.example.proverb.telex;
+
+import com.example.proverb.model.OutboxMessage;
+import com.example.proverb.repo.InMemoryOutboxStore;
+import com.example.proverb.repo.OutboxStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxRelayTests {
+
+    private final InMemoryOutboxStore store = new InMemoryOutboxStore();
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void catchUpAfterRestartDrainsThePendingBacklogOnce() {
+        int pending = 20_000;
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxStore.Entry> entries = new ArrayList<>(pending);
+        for (int i = 0; i < pending; i++) {
+            String channel = "channel-" + i;
+            entries.add(new OutboxStore.Entry(channel + "|MORNING|2025-01-01", channel, "Morning digest " + i));
+        }
+        store.enqueue(entries, now.minusHours(1));
+        // The pod that died mid-send held 500 rows; their lease has run out, so they are due again.
+        store.abandonLease("dead-pod-1", now.minusSeconds(1), 500);
+        // Re-enqueueing the same session after restart adds nothing.
+        assertThat(store.enqueue(entries.subList(0, 1000), now)).isZero();
+
+        // Two pods drain the same outbox at once.
+        StandInTelex telex = new StandInTelex();
+        OutboxRelay first = relay(telex, 10, Duration.ofSeconds(1), 3);
+        OutboxRelay second = relay(telex, 10, Duration.ofSeconds(1), 3);
+        CompletableFuture<Integer> a = CompletableFuture.supplyAsync(first::drain);
+        CompletableFuture<Integer> b = CompletableFuture.supplyAsync(second::drain);
+        int delivered = a.join() + b.join();
+
+        assertThat(delivered).isEqualTo(pending);
+        assertThat(telex.sends).hasSize(pending).allSatisfy((channel, sends) -> assertThat(sends.get()).isEqualTo(1));
+        assertThat(store.countPending()).isZero();
+        assertThat(store.find("channel-7|MORNING|2025-01-01").getStatus()).isEqualTo(OutboxMessage.Status.DELIVERED);
+        // Claims of 500 go out as batches of 100; a short claim at the tail adds the odd partial one.
+        assertThat(telex.calls.get()).isBetween(pending / 100, pending / 50);
+        assertThat(telex.peakInFlight.get()).isGreaterThan(1).isLessThanOrEqualTo(2 * 10);
+    }
+
+    @Test
+    void failedSendsBackOffUntilDeliveredOrGivenUp() throws Exception {
+        StandInTelex telex = new StandInTelex();
+        telex.failuresLeft.put("flaky", new AtomicInteger(1));
+        telex.failuresLeft.put("broken", new AtomicInteger(Integer.MAX_VALUE));
+        OutboxRelay relay = relay(telex, 4, Duration.ofMillis(200), 3);
+        store.enqueue(List.of(
+                new OutboxStore.Entry("flaky|EVENING|2025-01-01", "flaky", "hello"),
+                new OutboxStore.Entry("broken|EVENING|2025-01-01", "broken", "hello"),
+                new OutboxStore.Entry("fine|EVENING|2025-01-01", "fine", "hello")), LocalDateTime.now());
+
+        assertThat(relay.drain()).isEqualTo(1);
+        OutboxMessage flaky = store.find("flaky|EVENING|2025-01-01");
+        assertThat(flaky.getAttempts()).isEqualTo(1);
+        assertThat(flaky.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.countPending() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            relay.drain();
+        }
+
+        // A failed send frees the channel's throttle slot, so the retry goes straight out.
+        assertThat(store.find("flaky|EVENING|2025-01-01").getStatus()).isEqualTo(OutboxMessage.Status.DELIVERED);
+        OutboxMessage broken = store.find("broken|EVENING|2025-01-01");
+        assertThat(broken.getStatus()).isEqualTo(OutboxMessage.Status.DEAD);
+        assertThat(broken.getAttempts()).isEqualTo(3);
+        assertThat(telex.sends.get("fine").get()).isEqualTo(1);
+
+        for (int attempts = 0; attempts < 5; attempts++) {
+            long millis = relay.backoff(attempts).toMillis();
+            assertThat(millis).isBetween(200L << attempts >> 1, 200L << attempts);
+        }
+    }
+
+    private OutboxRelay relay(TelexClient telex, int maxInFlight, Duration initialBackoff, int maxAttempts) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxInFlight + 4);
+        executor.setMaxPoolSize(maxInFlight + 4);
+        executor.setQueueCapacity(maxInFlight * 4);
+        executor.initialize();
+        executors.add(executor);
+        BroadcastDispatcher dispatcher = new BroadcastDispatcher(telex, executor, new SimpleMeterRegistry(),
+                100, maxInFlight, 1_000_000, Duration.ofMinutes(10), 1_000_000);
+        return new OutboxRelay(store, dispatcher, executor, new SimpleMeterRegistry(),
+                4, 500, Duration.ofMinutes(2), initialBackoff, Duration.ofMinutes(1), maxAttempts, Duration.ofMinutes(10));
+    }
+
+    /** A Telex stand-in with 2 ms of latency per batch call that counts deliveries per channel. */
+    private static final class StandInTelex implements TelexClient {
+
+        final Map<String, AtomicInteger> sends = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+
+        @Override
+        public boolean sendMessage(String message) {
+            return true;
+        }
+
+        @Override
+        public List<OutboundMessage> sendMessages(List<OutboundMessage> messages) {
+            calls.incrementAndGet();
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return messages;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            List<OutboundMessage> undelivered = new ArrayList<>();
+            for (OutboundMessage message : messages) {
+                AtomicInteger failures = failuresLeft.get(message.channelId());
+                if (failures != null && failures.getAndDecrement() > 0) {
+                    undelivered.add(message);
+                } else {
+                    sends.computeIfAbsent(message.channelId(), channel -> new AtomicInteger()).incrementAndGet();
+                }
+            }
+            return undelivered;
+        }
+    }
+}